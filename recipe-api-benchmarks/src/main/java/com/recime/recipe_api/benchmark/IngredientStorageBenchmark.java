@@ -0,0 +1,175 @@
+package com.recime.recipe_api.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered page and count queries against PostgreSQL for both ingredient layouts: the {@code recipe_ingredients}
+ * table with correlated subqueries, and the GIN-indexed {@code ingredient_tags} array on the recipe row. The
+ * predicates are the ones {@code RecipeSpecifications} renders; a table page also joins in the ingredients. A
+ * catalogue of 100,000 recipes is seeded into its own schema, so the application data is left alone.
+ *
+ * <pre>
+ * java -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/recipe_db -jar target/benchmarks.jar IngredientStorage
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngredientStorageBenchmark {
+
+    private static final String SCHEMA = "ingredient_storage_benchmark";
+    private static final int RECIPE_COUNT = 100_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String TABLE_PAGE = """
+            select r.id, r.title, r.description, r.instructions, r.vegetarian, r.servings, r.version, i.ingredient
+            from (select r1.* from recipes r1 where %s order by r1.id limit ?) r
+            left join recipe_ingredients i on i.recipe_id = r.id
+            order by r.id""";
+    private static final String TABLE_COUNT = "select count(*) from recipes r1 where %s";
+    private static final String TABLE_INCLUDE =
+            "? in (select i.ingredient from recipe_ingredients i where i.recipe_id = r1.id)";
+    private static final String TABLE_EXCLUDE =
+            "? not in (select i.ingredient from recipe_ingredients i where i.recipe_id = r1.id and i.ingredient is not null)";
+
+    private static final String ARRAY_PAGE = """
+            select r1.id, r1.title, r1.description, r1.instructions, r1.vegetarian, r1.servings, r1.version, r1.ingredient_tags
+            from recipes r1 where %s order by r1.id limit ?""";
+    private static final String ARRAY_COUNT = "select count(*) from recipes r1 where %s";
+    private static final String ARRAY_INCLUDE = "r1.ingredient_tags @> array[?]::varchar[]";
+    private static final String ARRAY_EXCLUDE = "not (r1.ingredient_tags @> array[?]::varchar[])";
+
+    /**
+     * table: {@code recipe_ingredients} with correlated subqueries; array: {@code ingredient_tags @> array[...]}.
+     */
+    @Param({"table", "array"})
+    private String storage;
+
+    /**
+     * rare: include an ingredient on 0.5% of recipes; common: include one on every recipe; exclude: leave out
+     * recipes with a 0.5% ingredient.
+     */
+    @Param({"rare", "common", "exclude"})
+    private String filter;
+
+    private Connection connection;
+    private PreparedStatement page;
+    private PreparedStatement count;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/recipe_db"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"));
+        seed();
+
+        boolean array = storage.equals("array");
+        String predicate = switch (filter) {
+            case "rare", "common" -> array ? ARRAY_INCLUDE : TABLE_INCLUDE;
+            case "exclude" -> array ? ARRAY_EXCLUDE : TABLE_EXCLUDE;
+            default -> throw new IllegalArgumentException(filter);
+        };
+        String ingredient = filter.equals("common") ? "Salt" : "Saffron";
+
+        page = connection.prepareStatement((array ? ARRAY_PAGE : TABLE_PAGE).formatted(predicate));
+        page.setString(1, ingredient);
+        page.setInt(2, PAGE_SIZE);
+        count = connection.prepareStatement((array ? ARRAY_COUNT : TABLE_COUNT).formatted(predicate));
+        count.setString(1, ingredient);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int page() throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = page.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long count() throws SQLException {
+        try (ResultSet resultSet = count.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create schema if not exists " + SCHEMA);
+            statement.execute("set search_path to " + SCHEMA);
+            try (ResultSet existing = statement.executeQuery(
+                    "select count(*) from information_schema.tables where table_schema = '" + SCHEMA + "'")) {
+                existing.next();
+                if (existing.getLong(1) > 0) {
+                    return;
+                }
+            }
+
+            statement.execute("""
+                    create table recipes (
+                        id bigint primary key,
+                        title varchar(255) not null,
+                        description varchar(255),
+                        instructions varchar(2000) not null,
+                        vegetarian boolean not null,
+                        servings integer not null,
+                        version bigint not null default 0,
+                        ingredient_tags varchar(255)[] not null default '{}')""");
+            statement.execute("create table recipe_ingredients (recipe_id bigint not null references recipes, ingredient varchar(255))");
+            statement.execute("""
+                    insert into recipes (id, title, description, instructions, vegetarian, servings)
+                    select n, 'Recipe ' || n, 'Description ' || n, 'Boil water and stir.', n %% 10 = 0, n %% 12 + 1
+                    from generate_series(1, %d) n""".formatted(RECIPE_COUNT));
+            statement.execute("""
+                    insert into recipe_ingredients (recipe_id, ingredient)
+                    select n, case when n %% 200 = 0 then 'Saffron' else 'Ingredient ' || (n %% 500) end
+                    from generate_series(1, %1$d) n
+                    union all
+                    select n, 'Ingredient ' || (n * 7 %% 300) from generate_series(1, %1$d) n
+                    union all
+                    select n, 'Salt' from generate_series(1, %1$d) n""".formatted(RECIPE_COUNT));
+            statement.execute("""
+                    update recipes r set ingredient_tags = i.tags
+                    from (select recipe_id, array_agg(ingredient) as tags from recipe_ingredients group by recipe_id) i
+                    where i.recipe_id = r.id""");
+            statement.execute("create index on recipe_ingredients (recipe_id, ingredient)");
+            statement.execute("create index on recipe_ingredients (ingredient, recipe_id)");
+            statement.execute("create index on recipes using gin (ingredient_tags)");
+            statement.execute("analyze recipes");
+            statement.execute("analyze recipe_ingredients");
+        }
+    }
+}
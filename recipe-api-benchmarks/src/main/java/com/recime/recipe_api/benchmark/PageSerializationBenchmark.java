@@ -0,0 +1,105 @@
+package com.recime.recipe_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the {@code GET /api/recipes} response body, with the same mapper defaults Spring Boot
+ * configures, in each negotiable format. {@code serializeAndGzipPage} adds the gzip Tomcat applies to large
+ * responses. The {@code bytes} counter reports the size of the body each one writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Page<RecipeResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+        page = new PageImpl<>(RecipeFixtures.responses(pageSize, 42),
+                PageRequest.of(3, pageSize, Sort.by("id")), 50_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage(BodySize size) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(page);
+        size.record(body.length);
+        return body;
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPage(BodySize size) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            objectMapper.writeValue(gzip, page);
+        }
+        size.record(body.size());
+        return body.toByteArray();
+    }
+
+    /**
+     * Size of the body written by the last invocation, reported as the {@code bytes} counter. JMH sums event
+     * counters over the measured iterations of every fork, so each iteration reports its share of the size.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BodySize {
+
+        public double bytes;
+
+        private int measuredIterations;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkParams params) {
+            measuredIterations = params.getMeasurement().getCount() * params.getForks();
+        }
+
+        void record(int size) {
+            bytes = (double) size / measuredIterations;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.recime.recipe_api.benchmark;
+
+import com.recime.recipe_api.RecipeApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * recipe-api's application context started in the benchmark JVM without a web server, so benchmarks drive the real
+ * services, repositories and Hibernate configuration.
+ */
+public final class RecipeApiContext {
+
+    private RecipeApiContext() {
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.main.web-application-type", "none");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.putAll(overrides);
+
+        // Passed as command line arguments so they take precedence over recipe-api's application.properties.
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(RecipeApiApplication.class).run(args);
+    }
+}
@@ -0,0 +1,109 @@
+package com.recime.recipe_api.benchmark;
+
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.service.RecipeService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code POST /api/recipes/bulk} of 10,000 recipes through {@link RecipeService#createMoreThanOneRecipe} on
+ * PostgreSQL, with JDBC batching off ({@code batchSize=1}) and at the default batch size. The score is recipes per
+ * second and the {@code rows} counter adds the {@code recipe_ingredients} rows. recipe-api is started against its
+ * own schema, migrated by Flyway, so the application data is left alone.
+ *
+ * <pre>
+ * java -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/recipe_db?reWriteBatchedInserts=true -jar target/benchmarks.jar RecipeBulkInsert
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RecipeBulkInsertBenchmark {
+
+    private static final String SCHEMA = "bulk_insert_benchmark";
+    private static final int RECIPE_COUNT = 10_000;
+
+    /**
+     * recipe.bulk.batch-size: 1 sends every insert on its own, 50 is the default.
+     */
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private JdbcTemplate jdbcTemplate;
+    private List<RecipeCreateDTO> recipes;
+    private long rowsPerInvocation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url",
+                "jdbc:postgresql://localhost:5432/recipe_db?reWriteBatchedInserts=true");
+        context = RecipeApiContext.start(Map.of(
+                "spring.datasource.url", url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + ",public",
+                "spring.datasource.username", System.getProperty("benchmark.jdbc.user", "postgres"),
+                "spring.datasource.password", System.getProperty("benchmark.jdbc.password", "postgres"),
+                "spring.flyway.schemas", SCHEMA,
+                "recipe.bulk.batch-size", batchSize));
+        recipeService = context.getBean(RecipeService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        recipes = RecipeFixtures.createRequests(RECIPE_COUNT, 42, 0);
+        rowsPerInvocation = recipes.stream().mapToLong(recipe -> 1 + recipe.getIngredients().size()).sum();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table recipe_ingredients, recipes");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPE_COUNT)
+    public List<RecipeResponseDTO> insert(Rows rows) {
+        List<RecipeResponseDTO> created = recipeService.createMoreThanOneRecipe(recipes);
+        rows.rows += rowsPerInvocation;
+        return created;
+    }
+
+    /**
+     * Rows written to {@code recipes} and {@code recipe_ingredients}, reported per second next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.recime.recipe_api.benchmark;
+
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic recipes shaped like real catalogue entries: 4-14 ingredients drawn from a skewed vocabulary,
+ * a sentence of description and a few hundred characters of instructions.
+ */
+public final class RecipeFixtures {
+
+    private static final String[] INGREDIENTS = {
+            "Salt", "Olive Oil", "Garlic", "Onion", "Black Pepper", "Butter", "Tomato", "Flour", "Sugar", "Egg",
+            "Milk", "Lemon", "Basil", "Parsley", "Chicken Breast", "Rice", "Potato", "Carrot", "Celery", "Thyme",
+            "Rosemary", "Paprika", "Cumin", "Coriander", "Ginger", "Soy Sauce", "Honey", "Mozzarella", "Parmesan",
+            "Cheddar", "Beef Mince", "Pork Shoulder", "Salmon Fillet", "Prawns", "Chickpeas", "Lentils", "Spinach",
+            "Kale", "Mushroom", "Zucchini", "Eggplant", "Red Capsicum", "Chilli", "Coconut Milk", "Cream", "Yoghurt",
+            "Oregano", "Bay Leaf", "Vegetable Stock", "Chicken Stock", "Red Wine", "White Wine", "Balsamic Vinegar",
+            "Dijon Mustard", "Maple Syrup", "Oats", "Almonds", "Walnuts", "Cinnamon", "Nutmeg", "Vanilla Extract"
+    };
+
+    private static final String[] STEPS = {
+            "Preheat the oven to 180C and line a tray with baking paper.",
+            "Heat the oil in a large pan over medium heat.",
+            "Finely chop the onion and garlic and cook until soft and fragrant.",
+            "Add the remaining ingredients and stir to combine.",
+            "Simmer gently for twenty minutes, stirring occasionally.",
+            "Season to taste with salt and pepper.",
+            "Bake until golden and cooked through.",
+            "Rest for five minutes before slicing and serving.",
+            "Whisk together until smooth, then fold through gently.",
+            "Garnish with fresh herbs and serve warm."
+    };
+
+    private RecipeFixtures() {
+    }
+
+    public static List<Recipe> recipes(int count, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    String title = title(random, i);
+                    String description = description(random);
+                    List<String> ingredients = ingredients(random);
+                    return Recipe.builder()
+                            .id((long) i + 1)
+                            .title(title)
+                            .description(description)
+                            .ingredients(ingredients)
+                            .ingredientTags(new ArrayList<>(ingredients))
+                            .instructions(instructions(random))
+                            .vegetarian(random.nextInt(3) == 0)
+                            .servings(1 + random.nextInt(8))
+                            .version((long) random.nextInt(5))
+                            .build();
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public static List<RecipeResponseDTO> responses(int count, long seed) {
+        return recipes(count, seed).stream()
+                .map(recipe -> RecipeResponseDTO.builder()
+                        .id(recipe.getId())
+                        .title(recipe.getTitle())
+                        .description(recipe.getDescription())
+                        .ingredients(recipe.getIngredients())
+                        .instructions(recipe.getInstructions())
+                        .vegetarian(recipe.isVegetarian())
+                        .servings(recipe.getServings())
+                        .version(recipe.getVersion())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Create payloads where roughly one in {@code invalidEvery} breaks a constraint, as an import file would.
+     */
+    public static List<RecipeCreateDTO> createRequests(int count, long seed, int invalidEvery) {
+        Random random = new Random(seed);
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    RecipeCreateDTO dto = RecipeCreateDTO.builder()
+                            .title(title(random, i))
+                            .description(description(random))
+                            .ingredients(ingredients(random))
+                            .instructions(instructions(random))
+                            .vegetarian(random.nextInt(3) == 0)
+                            .servings(1 + random.nextInt(8))
+                            .build();
+                    if (invalidEvery > 0 && random.nextInt(invalidEvery) == 0) {
+                        breakConstraint(dto, random);
+                    }
+                    return dto;
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public static String ingredient(Random random) {
+        // Squaring skews picks towards the front of the list, like pantry staples in a real catalogue.
+        double skewed = Math.pow(random.nextDouble(), 2);
+        return INGREDIENTS[(int) (skewed * INGREDIENTS.length)];
+    }
+
+    private static String title(Random random, int i) {
+        return ingredient(random) + " and " + ingredient(random) + " " + (i % 2 == 0 ? "Bake" : "Stew") + " #" + i;
+    }
+
+    private static String description(Random random) {
+        return "A " + (random.nextBoolean() ? "quick weeknight" : "slow weekend") + " dish with "
+                + ingredient(random).toLowerCase() + " and " + ingredient(random).toLowerCase() + ".";
+    }
+
+    private static List<String> ingredients(Random random) {
+        int count = 4 + random.nextInt(11);
+        Set<String> ingredients = new LinkedHashSet<>();
+        while (ingredients.size() < count) {
+            ingredients.add(ingredient(random));
+        }
+        return new ArrayList<>(ingredients);
+    }
+
+    private static String instructions(Random random) {
+        int steps = 3 + random.nextInt(6);
+        StringBuilder instructions = new StringBuilder();
+        for (int step = 1; step <= steps; step++) {
+            instructions.append(step).append(". ").append(STEPS[random.nextInt(STEPS.length)]).append(' ');
+        }
+        return instructions.toString().trim();
+    }
+
+    private static void breakConstraint(RecipeCreateDTO dto, Random random) {
+        switch (random.nextInt(3)) {
+            case 0 -> dto.setTitle(" ");
+            case 1 -> dto.setIngredients(List.of());
+            default -> dto.setServings(0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.recime.recipe_api.benchmark;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.service.IngredientStorage;
+import com.recime.recipe_api.service.RecipeService;
+import com.recime.recipe_api.specification.RecipeSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request work in {@link RecipeService}, for each ingredient storage mode. {@code buildSpecificationPredicate}
+ * turns the filters into a JPA criteria predicate through {@link RecipeSpecifications#matching}, without touching
+ * the database. Entity to DTO mapping is private to the service, so {@code getRecipeById} measures it together with
+ * the read around it. Both run in recipe-api's application context, started on an in-memory H2 database seeded with
+ * the generated recipes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RecipeServiceBenchmark {
+
+    private static final int RECIPE_COUNT = 1024;
+
+    @Param({"table", "array"})
+    private String storage;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private IngredientStorage ingredientStorage;
+    private CriteriaBuilder criteriaBuilder;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = RecipeApiContext.start(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:recipe_service_benchmark;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name", "org.h2.Driver",
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "spring.jpa.hibernate.ddl-auto", "create",
+                "spring.flyway.enabled", false,
+                "recipe.ingredients.storage", storage));
+        recipeService = context.getBean(RecipeService.class);
+        ingredientStorage = IngredientStorage.valueOf(storage.toUpperCase());
+        criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        ids = recipeService.createMoreThanOneRecipe(RecipeFixtures.createRequests(RECIPE_COUNT, 42, 0)).stream()
+                .mapToLong(RecipeResponseDTO::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeResponseDTO getRecipeById() {
+        return recipeService.getRecipeById(ids[next++ & (RECIPE_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public Predicate buildSpecificationPredicate(Filters filters) {
+        CriteriaQuery<Recipe> query = criteriaBuilder.createQuery(Recipe.class);
+        Root<Recipe> root = query.from(Recipe.class);
+        return RecipeSpecifications
+                .matching(ingredientStorage, filters.vegetarian, filters.servings, filters.includeIngredients,
+                        filters.excludeIngredients, filters.instruction)
+                .toPredicate(root, query, criteriaBuilder);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Filters {
+
+        /**
+         * none: no filters; flags: vegetarian and servings; ingredients: two included and one excluded
+         * ingredient; all: every filter including the instruction keyword.
+         */
+        @Param({"none", "flags", "ingredients", "all"})
+        private String shape;
+
+        private Boolean vegetarian;
+        private Integer servings;
+        private List<String> includeIngredients;
+        private List<String> excludeIngredients;
+        private String instruction;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            boolean flags = shape.equals("flags") || shape.equals("all");
+            boolean ingredients = shape.equals("ingredients") || shape.equals("all");
+            vegetarian = flags ? Boolean.TRUE : null;
+            servings = flags ? 4 : null;
+            includeIngredients = ingredients ? List.of("Garlic", "Tomato") : null;
+            excludeIngredients = ingredients ? List.of("Beef Mince") : null;
+            instruction = shape.equals("all") ? "simmer" : null;
+        }
+    }
+}
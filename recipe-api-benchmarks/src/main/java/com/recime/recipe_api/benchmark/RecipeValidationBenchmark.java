@@ -0,0 +1,66 @@
+package com.recime.recipe_api.benchmark;
+
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of create payloads one by one, as the bulk and NDJSON import paths do. One in twenty
+ * payloads is invalid so the violation-reporting path is exercised too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RecipeValidationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private List<RecipeCreateDTO> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        requests = RecipeFixtures.createRequests(listSize, 42, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public int validateList() {
+        int violations = 0;
+        for (RecipeCreateDTO request : requests) {
+            Set<ConstraintViolation<RecipeCreateDTO>> result = validator.validate(request);
+            violations += result.size();
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,145 @@
+package com.recime.recipe_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Grows the catalogue to the requested size through the NDJSON import endpoint, then reads back every id through
+ * the scroll endpoint. Recipe {@code n} is always generated from the same seed, so an existing catalogue is only
+ * topped up and two runs with the same options see the same data. The import commits each server-side chunk on its
+ * own, so the lines of a chunk that did not commit are sent again, and seeding fails if they still do not.
+ */
+public final class CatalogueSeeder {
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int PARALLEL_CHUNKS = 4;
+    private static final int SCROLL_SIZE = 2000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper;
+    private final RecipeGenerator recipeGenerator;
+
+    public CatalogueSeeder(HttpClient httpClient, URI baseUrl, ObjectMapper objectMapper, RecipeGenerator recipeGenerator) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.recipeGenerator = recipeGenerator;
+    }
+
+    public long countRecipes() throws IOException, InterruptedException {
+        return getJson("/api/recipes?size=1&count=EXACT").get("totalElements").asLong();
+    }
+
+    public void seed(long target, long seed, PrintStream log) throws IOException, InterruptedException {
+        long existing = countRecipes();
+        if (existing >= target) {
+            log.printf("Catalogue already has %d recipes%n", existing);
+            return;
+        }
+
+        log.printf("Seeding %d recipes (catalogue has %d)%n", target - existing, existing);
+        long started = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> pending = new ArrayList<>();
+        List<Long> pendingFrom = new ArrayList<>();
+        for (long from = existing; from < target; from += CHUNK_SIZE) {
+            long to = Math.min(target, from + CHUNK_SIZE);
+            pending.add(importAsync(from, to, seed));
+            pendingFrom.add(from);
+
+            if (pending.size() == PARALLEL_CHUNKS || to == target) {
+                for (int i = 0; i < pending.size(); i++) {
+                    retryUncommitted(pendingFrom.get(i), summaries(pending.get(i).join()), seed, 1);
+                }
+                pending.clear();
+                pendingFrom.clear();
+                double seconds = (System.nanoTime() - started) / 1e9;
+                log.printf("  %d/%d recipes (%.0f/s)%n", to, target, (to - existing) / seconds);
+            }
+        }
+    }
+
+    public LiveIds collectIds() throws IOException, InterruptedException {
+        LiveIds ids = new LiveIds();
+        String cursor = null;
+        do {
+            String query = "/api/recipes/scroll?size=" + SCROLL_SIZE
+                    + (cursor == null ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+            JsonNode window = getJson(query);
+            window.get("content").forEach(recipe -> ids.add(recipe.get("id").asLong()));
+            cursor = window.get("hasNext").asBoolean() ? window.get("nextCursor").asText() : null;
+        } while (cursor != null);
+        return ids;
+    }
+
+    private CompletableFuture<HttpResponse<String>> importAsync(long from, long to, long seed) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/recipes/stream"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(ndjson(from, to, seed)))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Summary lines are 1-based within the request that started at recipe from.
+    private void retryUncommitted(long from, List<JsonNode> summaries, long seed, int attempt) throws IOException {
+        for (JsonNode summary : summaries) {
+            if (summary.get("committed").asBoolean()) {
+                continue;
+            }
+            long firstRecipe = from + summary.get("firstLine").asLong() - 1;
+            long lastRecipe = from + summary.get("lastLine").asLong();
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IOException("Import of recipes " + firstRecipe + "-" + (lastRecipe - 1)
+                        + " did not commit after " + attempt + " attempts: " + summary);
+            }
+            retryUncommitted(firstRecipe, summaries(importAsync(firstRecipe, lastRecipe, seed).join()), seed, attempt + 1);
+        }
+    }
+
+    // The import answers one NDJSON summary line per chunk.
+    private List<JsonNode> summaries(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IOException("Import failed with " + response.statusCode() + ": " + response.body());
+        }
+        try (MappingIterator<JsonNode> lines = objectMapper.readerFor(JsonNode.class).readValues(response.body())) {
+            return lines.readAll();
+        }
+    }
+
+    private byte[] ndjson(long from, long to, long seed) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (long n = from; n < to; n++) {
+            RecipeCreateDTO recipe = recipeGenerator.next(new SplittableRandom(seed * 31 + n), n);
+            body.write(objectMapper.writeValueAsBytes(recipe));
+            body.write('\n');
+        }
+        return body.toByteArray();
+    }
+
+    private JsonNode getJson(String pathAndQuery) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + pathAndQuery + " failed with " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
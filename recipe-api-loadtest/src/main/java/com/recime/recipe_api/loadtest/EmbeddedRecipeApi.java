@@ -0,0 +1,60 @@
+package com.recime.recipe_api.loadtest;
+
+import com.recime.recipe_api.RecipeApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * recipe-api started in this JVM on a random port. An H2 URL gets a Hibernate-managed schema that survives
+ * restarts when the database is file based. A PostgreSQL URL is migrated by Flyway, as in production.
+ */
+public final class EmbeddedRecipeApi implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final URI baseUrl;
+
+    private EmbeddedRecipeApi(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = URI.create("http://localhost:" + port);
+    }
+
+    public static EmbeddedRecipeApi start(String jdbcUrl, String username, String password) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        // The default mix includes q= searches, which need the opt-in full-text index.
+        properties.put("recipe.index.fulltext.enabled", true);
+        if (jdbcUrl.startsWith("jdbc:h2:")) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.hibernate.ddl-auto", "update");
+            properties.put("spring.flyway.enabled", false);
+        }
+
+        // Passed as command line arguments so they take precedence over recipe-api's application.properties.
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new EmbeddedRecipeApi(new SpringApplicationBuilder(RecipeApiApplication.class).run(args));
+    }
+
+    public URI baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.recime.recipe_api.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prints throughput and p50/p99/p99.9 latency per operation as a Markdown table. It also writes each operation's
+ * full percentile distribution as an {@code .hgrm} file, which the HdrHistogram plotter can chart.
+ */
+public final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Operation, OperationStats> stats;
+    private final Duration duration;
+    private final double targetRate;
+
+    public LatencyReport(Map<Operation, OperationStats> stats, Duration duration, double targetRate) {
+        this.stats = stats;
+        this.duration = duration;
+        this.targetRate = targetRate;
+    }
+
+    public Map<Operation, OperationStats> stats() {
+        return stats;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalFailed = 0;
+        long totalDropped = 0;
+
+        out.println("| operation | requests | req/s | p50 ms | p99 ms | p99.9 ms | max ms | failed | dropped |");
+        out.println("| --------- | -------- | ----- | ------ | ------ | -------- | ------ | ------ | ------- |");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            Histogram latencies = operation.latencies();
+            if (latencies.getTotalCount() == 0 && operation.dropped() == 0) {
+                continue;
+            }
+            total.add(latencies);
+            totalFailed += operation.failed();
+            totalDropped += operation.dropped();
+            out.println(row(entry.getKey().key(), latencies, seconds, operation.failed(), operation.dropped()));
+        }
+        out.println(row("**all**", total, seconds, totalFailed, totalDropped));
+
+        out.println();
+        out.printf("Target rate %.0f req/s, completed %.1f req/s over %ds%n",
+                targetRate, total.getTotalCount() / seconds, duration.toSeconds());
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.failed() > 0) {
+                out.println("  " + operation.key() + " failures: " + operationStats.failures().entrySet().stream()
+                        .map(failure -> failure.getKey() + " x" + failure.getValue())
+                        .collect(Collectors.joining(", ")));
+            }
+        });
+    }
+
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().key() + ".hgrm")))) {
+                latencies.outputPercentileDistribution(file, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static String row(String name, Histogram latencies, double seconds, long failed, long dropped) {
+        return "| %s | %d | %.1f | %.2f | %.2f | %.2f | %.2f | %d | %d |".formatted(
+                name,
+                latencies.getTotalCount(),
+                latencies.getTotalCount() / seconds,
+                millis(latencies, 50.0),
+                millis(latencies, 99.0),
+                millis(latencies, 99.9),
+                latencies.getMaxValue() / MICROS_PER_MILLI,
+                failed,
+                dropped);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,43 @@
+package com.recime.recipe_api.loadtest;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids of the recipes that currently exist, in insertion order, so the oldest recipes are the most popular ones
+ * under a Zipfian pick. Creates append and deletes swap-remove. Writers run on HTTP completion threads.
+ */
+public final class LiveIds {
+
+    private long[] ids = new long[1024];
+    private int size;
+
+    public synchronized void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * The id at {@code rank} (1 being the oldest), or empty when there are fewer live recipes than that.
+     */
+    public synchronized OptionalLong byRank(int rank) {
+        return rank >= 1 && rank <= size ? OptionalLong.of(ids[rank - 1]) : OptionalLong.empty();
+    }
+
+    public synchronized OptionalLong removeRandom(RandomGenerator random) {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+        int index = random.nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return OptionalLong.of(id);
+    }
+}
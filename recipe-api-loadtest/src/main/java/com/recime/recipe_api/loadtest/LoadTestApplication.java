@@ -0,0 +1,75 @@
+package com.recime.recipe_api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Seeds a synthetic catalogue, drives the configured request mix at a fixed rate and prints the latency report.
+ *
+ * <pre>
+ * java -jar target/recipe-api-loadtest-0.0.1-SNAPSHOT.jar --recipes=2000000 --rate=500 --duration=2m
+ * </pre>
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LatencyReport report = run(options, System.out);
+        report.writeHistograms(options.output());
+        System.out.println("Latency distributions written to " + options.output().toAbsolutePath());
+        System.exit(0);
+    }
+
+    public static LatencyReport run(LoadTestOptions options, PrintStream out) throws Exception {
+        EmbeddedRecipeApi embedded = null;
+        URI baseUrl = options.target();
+        if (baseUrl == null) {
+            out.println("Starting recipe-api against " + options.jdbcUrl());
+            embedded = EmbeddedRecipeApi.start(options.jdbcUrl(), options.jdbcUsername(), options.jdbcPassword());
+            baseUrl = embedded.baseUrl();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+            ObjectMapper objectMapper = new ObjectMapper();
+            RecipeGenerator recipeGenerator = new RecipeGenerator(
+                    options.vocabulary(), options.ingredientSkew(), options.vegetarianRatio());
+
+            CatalogueSeeder seeder = new CatalogueSeeder(httpClient, baseUrl, objectMapper, recipeGenerator);
+            seeder.seed(options.recipes(), options.seed(), out);
+            LiveIds liveIds = seeder.collectIds();
+
+            out.printf("Driving %s at %.0f req/s for %ds after %ds of warmup against %d recipes%n",
+                    options.mix(), options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(),
+                    liveIds.size());
+            RecipeWorkload workload = new RecipeWorkload(baseUrl, objectMapper, recipeGenerator, liveIds,
+                    options.mix(), options.popularitySkew(), new SplittableRandom(options.seed()), seeder.countRecipes());
+            Map<Operation, OperationStats> stats = new OpenModelDriver(
+                    httpClient, workload, options.rate(), options.maxInFlight())
+                    .run(options.warmup(), options.duration());
+
+            LatencyReport report = new LatencyReport(stats, options.duration(), options.rate());
+            out.println();
+            report.print(out);
+            return report;
+        } finally {
+            executor.shutdownNow();
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.recime.recipe_api.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as {@code --name=value}. Without {@code --target} recipe-api is started in-process
+ * against {@code --jdbc-url}.
+ */
+public record LoadTestOptions(
+        URI target,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        long recipes,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        int vocabulary,
+        double ingredientSkew,
+        double popularitySkew,
+        double vegetarianRatio,
+        WorkloadMix mix,
+        int maxInFlight,
+        Path output
+) {
+
+    private static final String DEFAULT_JDBC_URL = "jdbc:h2:file:./target/loadtest-db/recipes";
+
+    private static final Set<String> NAMES = Set.of(
+            "target", "jdbc-url", "jdbc-username", "jdbc-password", "recipes", "rate", "warmup", "duration", "seed",
+            "vocabulary", "ingredient-skew", "popularity-skew", "vegetarian-ratio", "mix", "max-in-flight", "output");
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + NAMES);
+            }
+            values.put(name, arg.substring(equals + 1));
+        }
+
+        String jdbcUrl = values.getOrDefault("jdbc-url", DEFAULT_JDBC_URL);
+        boolean h2 = jdbcUrl.startsWith("jdbc:h2:");
+        return new LoadTestOptions(
+                values.containsKey("target") ? URI.create(values.get("target")) : null,
+                jdbcUrl,
+                values.getOrDefault("jdbc-username", h2 ? "sa" : "postgres"),
+                values.getOrDefault("jdbc-password", h2 ? "" : "postgres"),
+                Long.parseLong(values.getOrDefault("recipes", "100000")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("vocabulary", "2000")),
+                Double.parseDouble(values.getOrDefault("ingredient-skew", "1.1")),
+                Double.parseDouble(values.getOrDefault("popularity-skew", "0.99")),
+                Double.parseDouble(values.getOrDefault("vegetarian-ratio", "0.35")),
+                WorkloadMix.parse(values.getOrDefault("mix", WorkloadMix.DEFAULT)),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+                Path.of(values.getOrDefault("output", "target/loadtest")));
+    }
+}
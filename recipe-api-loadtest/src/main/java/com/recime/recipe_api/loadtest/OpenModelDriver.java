@@ -0,0 +1,109 @@
+package com.recime.recipe_api.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate regardless of how fast responses come back (an open workload model).
+ * Latency is measured from when each request was scheduled, not when it was actually sent, so a stalled server
+ * shows up in the percentiles instead of silently lowering the offered load (coordinated omission). Requests
+ * beyond {@code maxInFlight} are counted as dropped.
+ */
+public final class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient;
+    private final RecipeWorkload workload;
+    private final double rate;
+    private final int maxInFlight;
+
+    public OpenModelDriver(HttpClient httpClient, RecipeWorkload workload, double rate, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public Map<Operation, OperationStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * 1e9 / rate);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            PlannedRequest planned = workload.next();
+            OperationStats operationStats = scheduled >= measureFrom ? stats.get(planned.operation()) : null;
+            if (!inFlight.tryAcquire()) {
+                if (operationStats != null) {
+                    operationStats.recordDropped();
+                }
+                continue;
+            }
+
+            httpClient.sendAsync(planned.request(), HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        inFlight.release();
+                        String failure = error != null ? failureOf(error) : failureOf(response);
+                        if (failure == null) {
+                            failure = apply(planned, response.body());
+                        }
+                        if (operationStats == null) {
+                            return;
+                        }
+                        if (failure == null) {
+                            operationStats.recordSuccess(latency);
+                        } else {
+                            operationStats.recordFailure(latency, failure);
+                        }
+                    });
+        }
+
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.err.println("Gave up waiting for " + (maxInFlight - inFlight.availablePermits())
+                    + " in-flight requests after " + DRAIN_TIMEOUT.toSeconds() + "s");
+        }
+        return stats;
+    }
+
+    private static String failureOf(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        return status / 100 == 2 || status == 304 ? null : Integer.toString(status);
+    }
+
+    private static String failureOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+
+    private static String apply(PlannedRequest planned, byte[] body) {
+        try {
+            planned.onSuccess().accept(body);
+            return null;
+        } catch (RuntimeException e) {
+            return "unreadable response";
+        }
+    }
+}
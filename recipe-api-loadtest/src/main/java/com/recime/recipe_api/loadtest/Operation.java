@@ -0,0 +1,39 @@
+package com.recime.recipe_api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * One kind of request against {@code RecipeController}; {@link #key()} is the name used in {@code --mix} and in
+ * the report.
+ */
+public enum Operation {
+
+    GET_BY_ID("getById"),
+    CONDITIONAL_GET("conditionalGet"),
+    FILTER("filter"),
+    SEARCH("search"),
+    SCROLL("scroll"),
+    BATCH("batch"),
+    CREATE("create"),
+    BULK_CREATE("bulkCreate"),
+    IMPORT("import"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+}
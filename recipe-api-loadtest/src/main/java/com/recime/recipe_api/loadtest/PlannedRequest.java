@@ -0,0 +1,16 @@
+package com.recime.recipe_api.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+
+/**
+ * A request to send, with a callback for the body of a successful response (used to learn the ids of created
+ * recipes).
+ */
+public record PlannedRequest(Operation operation, HttpRequest request, Consumer<byte[]> onSuccess) {
+
+    public PlannedRequest(Operation operation, HttpRequest request) {
+        this(operation, request, body -> {
+        });
+    }
+}
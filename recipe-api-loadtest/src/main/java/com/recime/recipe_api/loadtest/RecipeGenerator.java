@@ -0,0 +1,147 @@
+package com.recime.recipe_api.loadtest;
+
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Synthetic recipes for the catalogue and for write traffic. Ingredients follow a Zipfian popularity curve over a
+ * fixed vocabulary, so a handful of staples appear in most recipes while the long tail is rare. Description and
+ * instruction lengths are right-skewed, and the vegetarian share is configurable.
+ */
+public final class RecipeGenerator {
+
+    private static final String[] STAPLES = {
+            "Salt", "Olive Oil", "Garlic", "Onion", "Black Pepper", "Butter", "Egg", "Flour", "Sugar", "Tomato",
+            "Milk", "Lemon", "Water", "Parsley", "Basil", "Carrot", "Potato", "Rice", "Celery", "Thyme",
+            "Chicken Breast", "Cream", "Parmesan", "Ginger", "Soy Sauce", "Honey", "Cumin", "Paprika", "Chilli",
+            "Coriander", "Spinach", "Mushroom", "Beef Mince", "Bacon", "Cheddar", "Mozzarella", "Zucchini",
+            "Red Capsicum", "Chickpeas", "Lentils", "Coconut Milk", "Yoghurt", "Oregano", "Rosemary", "Bay Leaf",
+            "Vegetable Stock", "Chicken Stock", "Red Wine", "White Wine", "Balsamic Vinegar", "Dijon Mustard",
+            "Maple Syrup", "Oats", "Almonds", "Walnuts", "Cinnamon", "Nutmeg", "Vanilla Extract", "Salmon Fillet",
+            "Prawns", "Pork Shoulder", "Lamb Shank", "Kale", "Eggplant", "Sweet Potato", "Pumpkin", "Feta"
+    };
+
+    private static final String[] FORMS = {
+            "", "Fresh ", "Dried ", "Ground ", "Smoked ", "Roasted ", "Organic ", "Toasted ", "Pickled ", "Frozen "
+    };
+
+    private static final String[] DISHES = {
+            "Soup", "Stew", "Curry", "Salad", "Bake", "Pie", "Risotto", "Pasta", "Stir Fry", "Tart", "Skewers",
+            "Traybake", "Frittata", "Noodles", "Tacos", "Burgers", "Slice", "Cake", "Muffins", "Bowl"
+    };
+
+    // %1$s is an ingredient, %2$d a number of minutes and %3$d an oven temperature.
+    private static final String[] STEPS = {
+            "Preheat the oven to %3$d degrees and line a tray with baking paper.",
+            "Heat a splash of %1$s in a large pan over medium heat.",
+            "Finely chop the %1$s and cook until soft, about %2$d minutes.",
+            "Add the %1$s and stir to coat.",
+            "Simmer gently for %2$d minutes, stirring occasionally.",
+            "Roast until golden, about %2$d minutes.",
+            "Whisk the %1$s until smooth.",
+            "Bake for %2$d minutes or until cooked through.",
+            "Season with %1$s to taste.",
+            "Fold through the %1$s and rest for %2$d minutes before serving.",
+            "Blend until smooth, then strain.",
+            "Grill for %2$d minutes on each side."
+    };
+
+    private static final String[] ADJECTIVES = {
+            "quick", "hearty", "weeknight", "family", "crowd-pleasing", "light", "comforting", "fresh", "spicy", "easy"
+    };
+
+    private final String[] vocabulary;
+    private final ZipfianGenerator ingredientRanks;
+    private final double vegetarianRatio;
+
+    public RecipeGenerator(int vocabularySize, double ingredientSkew, double vegetarianRatio) {
+        this.vocabulary = vocabulary(vocabularySize);
+        this.ingredientRanks = new ZipfianGenerator(vocabularySize, ingredientSkew);
+        this.vegetarianRatio = vegetarianRatio;
+    }
+
+    public RecipeCreateDTO next(RandomGenerator random, long sequence) {
+        List<String> ingredients = ingredients(random);
+        return RecipeCreateDTO.builder()
+                .title(ingredients.get(0) + " " + DISHES[random.nextInt(DISHES.length)] + " " + sequence)
+                .description(description(random, ingredients))
+                .ingredients(ingredients)
+                .instructions(instructions(random, ingredients))
+                .vegetarian(random.nextDouble() < vegetarianRatio)
+                .servings(servings(random))
+                .build();
+    }
+
+    public String ingredient(RandomGenerator random) {
+        return vocabulary[ingredientRanks.next(random) - 1];
+    }
+
+    public String instructionKeyword(RandomGenerator random) {
+        String[] keywords = {"simmer", "roast", "whisk", "bake", "grill", "blend", "chop", "season"};
+        return keywords[random.nextInt(keywords.length)];
+    }
+
+    private List<String> ingredients(RandomGenerator random) {
+        // 3 to ~20 ingredients, most recipes between 6 and 10.
+        int count = Math.max(3, Math.min(20, (int) Math.round(8 + random.nextGaussian() * 3)));
+        Set<String> ingredients = new LinkedHashSet<>();
+        int attempts = 0;
+        while (ingredients.size() < count && attempts++ < count * 10) {
+            ingredients.add(ingredient(random));
+        }
+        return new ArrayList<>(ingredients);
+    }
+
+    private String description(RandomGenerator random, List<String> ingredients) {
+        StringBuilder description = new StringBuilder("A ")
+                .append(ADJECTIVES[random.nextInt(ADJECTIVES.length)])
+                .append(" dish with ")
+                .append(ingredients.get(0).toLowerCase())
+                .append('.');
+        int extraSentences = (int) Math.min(6, Math.floor(-Math.log(1 - random.nextDouble()) * 1.5));
+        for (int i = 0; i < extraSentences; i++) {
+            description.append(" Pairs well with ")
+                    .append(ingredients.get(random.nextInt(ingredients.size())).toLowerCase())
+                    .append(" and keeps for ")
+                    .append(1 + random.nextInt(4))
+                    .append(" days.");
+        }
+        return description.toString();
+    }
+
+    private String instructions(RandomGenerator random, List<String> ingredients) {
+        // Log-normal step count: a median of about six steps with a long tail of elaborate recipes.
+        int steps = Math.max(2, Math.min(30, (int) Math.round(Math.exp(1.8 + random.nextGaussian() * 0.5))));
+        StringBuilder instructions = new StringBuilder();
+        for (int step = 1; step <= steps; step++) {
+            String text = STEPS[random.nextInt(STEPS.length)].formatted(
+                    ingredients.get(random.nextInt(ingredients.size())).toLowerCase(),
+                    5 + random.nextInt(40),
+                    160 + 10 * random.nextInt(6));
+            instructions.append(step).append(". ").append(text).append('\n');
+        }
+        return instructions.toString().trim();
+    }
+
+    private static int servings(RandomGenerator random) {
+        int[] common = {2, 4, 4, 4, 6, 6, 8, 1, 3, 12};
+        return common[random.nextInt(common.length)];
+    }
+
+    private static String[] vocabulary(int size) {
+        String[] vocabulary = new String[size];
+        for (int i = 0; i < size; i++) {
+            int base = i % STAPLES.length;
+            int form = i / STAPLES.length;
+            vocabulary[i] = form < FORMS.length
+                    ? FORMS[form] + STAPLES[base]
+                    : STAPLES[base] + " Variety " + (form - FORMS.length + 1);
+        }
+        return vocabulary;
+    }
+}
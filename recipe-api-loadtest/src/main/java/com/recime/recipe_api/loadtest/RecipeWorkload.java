@@ -0,0 +1,215 @@
+package com.recime.recipe_api.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Turns the workload mix into concrete requests. Recipe popularity is Zipfian over {@link LiveIds}, filter values
+ * follow the catalogue's ingredient skew, and write bodies come from the same {@link RecipeGenerator} as the
+ * catalogue. Only called from the driver's scheduling thread.
+ */
+public final class RecipeWorkload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int BATCH_SIZE = 20;
+    private static final int BULK_SIZE = 20;
+    private static final int IMPORT_SIZE = 100;
+
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper;
+    private final RecipeGenerator recipeGenerator;
+    private final LiveIds liveIds;
+    private final WorkloadMix mix;
+    private final double popularitySkew;
+    private final RandomGenerator random;
+    private final AtomicLong sequence;
+    private ZipfianGenerator popularity;
+
+    public RecipeWorkload(URI baseUrl,
+                          ObjectMapper objectMapper,
+                          RecipeGenerator recipeGenerator,
+                          LiveIds liveIds,
+                          WorkloadMix mix,
+                          double popularitySkew,
+                          RandomGenerator random,
+                          long firstSequence) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.recipeGenerator = recipeGenerator;
+        this.liveIds = liveIds;
+        this.mix = mix;
+        this.popularitySkew = popularitySkew;
+        this.random = random;
+        this.sequence = new AtomicLong(firstSequence);
+    }
+
+    public PlannedRequest next() {
+        Operation operation = mix.pick(random);
+        if (liveIds.size() == 0 && needsExistingRecipe(operation)) {
+            operation = Operation.CREATE;
+        }
+
+        return switch (operation) {
+            case GET_BY_ID -> new PlannedRequest(operation, get("/api/recipes/" + popularId()).build());
+            case CONDITIONAL_GET -> new PlannedRequest(operation, get("/api/recipes/" + popularId())
+                    .header("If-None-Match", "\"0\"")
+                    .build());
+            case FILTER -> new PlannedRequest(operation, get("/api/recipes?" + filterQuery()).build());
+            case SEARCH -> new PlannedRequest(operation, get("/api/recipes?" + searchQuery()).build());
+            case SCROLL -> new PlannedRequest(operation, get("/api/recipes/scroll?" + scrollQuery()).build());
+            case BATCH -> new PlannedRequest(operation, get("/api/recipes/batch?ids=" + batchIds()).build());
+            case CREATE -> new PlannedRequest(operation,
+                    send("POST", "/api/recipes", "application/json", json(nextRecipe())),
+                    body -> liveIds.add(readTree(body).get("id").asLong()));
+            case BULK_CREATE -> new PlannedRequest(operation,
+                    send("POST", "/api/recipes/bulk", "application/json", json(nextRecipes(BULK_SIZE))),
+                    body -> readTree(body).forEach(recipe -> liveIds.add(recipe.get("id").asLong())));
+            case IMPORT -> new PlannedRequest(operation,
+                    send("POST", "/api/recipes/stream", "application/x-ndjson", ndjson(nextRecipes(IMPORT_SIZE))));
+            case UPDATE -> new PlannedRequest(operation,
+                    send("PUT", "/api/recipes/" + popularId(), "application/json", json(nextRecipe())));
+            case DELETE -> new PlannedRequest(operation,
+                    send("DELETE", "/api/recipes/" + liveIds.removeRandom(random).orElseThrow(), null, null));
+        };
+    }
+
+    private static boolean needsExistingRecipe(Operation operation) {
+        return switch (operation) {
+            case GET_BY_ID, CONDITIONAL_GET, BATCH, UPDATE, DELETE -> true;
+            default -> false;
+        };
+    }
+
+    private long popularId() {
+        int size = liveIds.size();
+        if (popularity == null || popularity.n() != size) {
+            popularity = new ZipfianGenerator(size, popularitySkew);
+        }
+        OptionalLong id = liveIds.byRank(popularity.next(random));
+        // A concurrent delete can shrink the list between size() and byRank(); fall back to the hottest recipe.
+        return id.isPresent() ? id.getAsLong() : liveIds.byRank(1).orElse(1L);
+    }
+
+    private String filterQuery() {
+        StringJoiner query = new StringJoiner("&");
+        if (random.nextDouble() < 0.5) {
+            query.add("vegetarian=" + random.nextBoolean());
+        }
+        if (random.nextDouble() < 0.4) {
+            query.add("servings=" + (2 + 2 * random.nextInt(3)));
+        }
+        if (random.nextDouble() < 0.6) {
+            int includes = 1 + random.nextInt(2);
+            for (int i = 0; i < includes; i++) {
+                query.add("includeIngredients=" + encode(recipeGenerator.ingredient(random)));
+            }
+        }
+        if (random.nextDouble() < 0.3) {
+            query.add("excludeIngredients=" + encode(recipeGenerator.ingredient(random)));
+        }
+        if (random.nextDouble() < 0.2) {
+            query.add("instruction=" + recipeGenerator.instructionKeyword(random));
+        }
+        query.add("page=" + (random.nextDouble() < 0.7 ? 0 : 1 + random.nextInt(9)));
+        query.add("size=20");
+        return query.toString();
+    }
+
+    private String searchQuery() {
+        String terms = recipeGenerator.ingredient(random)
+                + (random.nextBoolean() ? " " + recipeGenerator.instructionKeyword(random) : "");
+        return "q=" + encode(terms) + "&size=20";
+    }
+
+    private String scrollQuery() {
+        StringJoiner query = new StringJoiner("&");
+        if (random.nextBoolean()) {
+            query.add("vegetarian=" + random.nextBoolean());
+        }
+        if (random.nextDouble() < 0.3) {
+            query.add("includeIngredients=" + encode(recipeGenerator.ingredient(random)));
+        }
+        query.add("size=50");
+        return query.toString();
+    }
+
+    private String batchIds() {
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ids.add(Long.toString(popularId()));
+        }
+        return ids.toString();
+    }
+
+    private RecipeCreateDTO nextRecipe() {
+        return recipeGenerator.next(random, sequence.getAndIncrement());
+    }
+
+    private List<RecipeCreateDTO> nextRecipes(int count) {
+        List<RecipeCreateDTO> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            recipes.add(nextRecipe());
+        }
+        return recipes;
+    }
+
+    private HttpRequest.Builder get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUrl.resolve(pathAndQuery)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpRequest send(String method, String path, String contentType, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (body == null) {
+            return request.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return request.header("Content-Type", contentType)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] ndjson(List<RecipeCreateDTO> recipes) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (RecipeCreateDTO recipe : recipes) {
+            body.writeBytes(json(recipe));
+            body.write('\n');
+        }
+        return body.toByteArray();
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
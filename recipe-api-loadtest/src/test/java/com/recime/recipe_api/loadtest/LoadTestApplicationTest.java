@@ -0,0 +1,43 @@
+package com.recime.recipe_api.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoadTestApplicationTest {
+
+    @Test
+    void should_DriveEveryOperationWithoutServerErrors_When_RunAgainstEmbeddedApi() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        LoadTestOptions options = LoadTestOptions.parse(
+                "--jdbc-url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--recipes=300",
+                "--rate=150",
+                "--warmup=1s",
+                "--duration=4s");
+
+        LatencyReport report = LoadTestApplication.run(options, new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        report.stats().forEach((operation, stats) -> {
+            assertThat(stats.latencies().getTotalCount()).as(operation.key()).isPositive();
+            // Reads and writes can race a concurrent delete or update of the same recipe.
+            assertThat(Set.of("404", "409")).as(operation.key()).containsAll(stats.failures().keySet());
+            assertThat(stats.dropped()).as(operation.key()).isZero();
+        });
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .contains("Seeding 300 recipes")
+                .contains("| **all** |");
+    }
+
+    @Test
+    void should_RejectUnknownOption() {
+        assertThatThrownBy(() -> LoadTestOptions.parse("--threads=4"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("--threads");
+    }
+}
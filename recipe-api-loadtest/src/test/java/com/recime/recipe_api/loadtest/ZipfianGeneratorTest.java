@@ -0,0 +1,55 @@
+package com.recime.recipe_api.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ZipfianGeneratorTest {
+
+    @Test
+    void should_MatchZipfProbabilities_When_SamplingSmallRange() {
+        int n = 10;
+        double exponent = 1.2;
+        ZipfianGenerator generator = new ZipfianGenerator(n, exponent);
+        SplittableRandom random = new SplittableRandom(7);
+        int samples = 200_000;
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < samples; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        double normalization = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            normalization += Math.pow(rank, -exponent);
+        }
+        for (int rank = 1; rank <= n; rank++) {
+            double expected = Math.pow(rank, -exponent) / normalization;
+            assertThat((double) counts[rank] / samples).isCloseTo(expected, within(0.005));
+        }
+    }
+
+    @Test
+    void should_StayWithinRange_When_RangeIsLarge() {
+        ZipfianGenerator generator = new ZipfianGenerator(5_000_000, 0.99);
+        SplittableRandom random = new SplittableRandom(11);
+        int top100 = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int rank = generator.next(random);
+            assertThat(rank).isBetween(1, 5_000_000);
+            if (rank <= 100) {
+                top100++;
+            }
+        }
+
+        // With s=0.99 over five million items the hottest 100 still draw roughly a third of the traffic.
+        assertThat(top100).isBetween(25_000, 40_000);
+    }
+
+    @Test
+    void should_RejectInvalidParameters() {
+        assertThatThrownBy(() -> new ZipfianGenerator(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ZipfianGenerator(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
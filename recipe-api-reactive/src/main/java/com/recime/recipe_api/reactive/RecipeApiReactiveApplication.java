@@ -0,0 +1,13 @@
+package com.recime.recipe_api.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class RecipeApiReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(RecipeApiReactiveApplication.class, args);
+	}
+
+}
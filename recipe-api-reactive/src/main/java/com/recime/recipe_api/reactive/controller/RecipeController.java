@@ -0,0 +1,47 @@
+package com.recime.recipe_api.reactive.controller;
+
+import com.recime.recipe_api.reactive.dto.RecipeResponseDTO;
+import com.recime.recipe_api.reactive.service.RecipeQueryService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recipes")
+public class RecipeController {
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final RecipeQueryService recipeQueryService;
+
+    public RecipeController(RecipeQueryService recipeQueryService) {
+        this.recipeQueryService = recipeQueryService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RecipeResponseDTO> getRecipes(
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) List<String> includeIngredients,
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @RequestParam(required = false) String instruction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return recipeQueryService.getRecipesByFilters(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction,
+                Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<RecipeResponseDTO> getRecipeById(@PathVariable Long id) {
+        return recipeQueryService.getRecipeById(id);
+    }
+}
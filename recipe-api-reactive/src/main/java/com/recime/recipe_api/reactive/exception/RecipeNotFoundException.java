@@ -0,0 +1,7 @@
+package com.recime.recipe_api.reactive.exception;
+
+public class RecipeNotFoundException extends RuntimeException {
+    public RecipeNotFoundException(Long id) {
+        super("Recipe not found with id: " + id);
+    }
+}
@@ -0,0 +1,103 @@
+package com.recime.recipe_api.reactive.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Plain SQL over the tables owned by recipe-api. The filters mirror {@code RecipeSpecifications}: the page of
+ * recipes is selected first, then joined to its ingredients, so rows arrive grouped by recipe id and can be
+ * streamed without loading the whole page.
+ */
+@Repository
+public class RecipeQueryRepository {
+
+    private static final String SELECT_ROWS = """
+            select r.id, r.title, r.description, r.instructions, r.vegetarian, r.servings, r.version, ri.ingredient
+            from (%s) r
+            left join recipe_ingredients ri on ri.recipe_id = r.id
+            order by r.id""";
+
+    private static final String SELECT_RECIPES =
+            "select p.id, p.title, p.description, p.instructions, p.vegetarian, p.servings, p.version from recipes p";
+
+    private final DatabaseClient databaseClient;
+
+    public RecipeQueryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<RecipeRow> findById(Long id) {
+        String sql = SELECT_ROWS.formatted(SELECT_RECIPES + " where p.id = :id");
+        return databaseClient.sql(sql)
+                .bind("id", id)
+                .map(RecipeQueryRepository::toRow)
+                .all();
+    }
+
+    public Flux<RecipeRow> findByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            long offset,
+            int limit
+    ) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+
+        if (vegetarian != null) {
+            where.add("p.vegetarian = :vegetarian");
+            params.put("vegetarian", vegetarian);
+        }
+        if (servings != null) {
+            where.add("p.servings = :servings");
+            params.put("servings", servings);
+        }
+        if (includeIngredients != null) {
+            for (int i = 0; i < includeIngredients.size(); i++) {
+                where.add("exists (select 1 from recipe_ingredients x where x.recipe_id = p.id and x.ingredient = :include" + i + ")");
+                params.put("include" + i, includeIngredients.get(i));
+            }
+        }
+        if (excludeIngredients != null) {
+            for (int i = 0; i < excludeIngredients.size(); i++) {
+                where.add("not exists (select 1 from recipe_ingredients x where x.recipe_id = p.id and x.ingredient = :exclude" + i + ")");
+                params.put("exclude" + i, excludeIngredients.get(i));
+            }
+        }
+        if (instruction != null && !instruction.isBlank()) {
+            where.add("lower(p.instructions) like :instruction");
+            params.put("instruction", "%" + instruction.toLowerCase() + "%");
+        }
+        params.put("limit", limit);
+        params.put("offset", offset);
+
+        String sql = SELECT_ROWS.formatted(SELECT_RECIPES + where + " order by p.id limit :limit offset :offset");
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(RecipeQueryRepository::toRow).all();
+    }
+
+    private static RecipeRow toRow(Readable row) {
+        return new RecipeRow(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("instructions", String.class),
+                Boolean.TRUE.equals(row.get("vegetarian", Boolean.class)),
+                row.get("servings", Integer.class),
+                row.get("version", Long.class),
+                row.get("ingredient", String.class)
+        );
+    }
+}
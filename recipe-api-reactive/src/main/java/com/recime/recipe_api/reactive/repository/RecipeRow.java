@@ -0,0 +1,16 @@
+package com.recime.recipe_api.reactive.repository;
+
+/**
+ * One row of a recipe joined with one of its ingredients; {@code ingredient} is null for a recipe without any.
+ */
+public record RecipeRow(
+        Long id,
+        String title,
+        String description,
+        String instructions,
+        boolean vegetarian,
+        Integer servings,
+        Long version,
+        String ingredient
+) {
+}
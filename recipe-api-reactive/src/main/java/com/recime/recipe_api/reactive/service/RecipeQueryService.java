@@ -0,0 +1,59 @@
+package com.recime.recipe_api.reactive.service;
+
+import com.recime.recipe_api.reactive.dto.RecipeResponseDTO;
+import com.recime.recipe_api.reactive.exception.RecipeNotFoundException;
+import com.recime.recipe_api.reactive.repository.RecipeQueryRepository;
+import com.recime.recipe_api.reactive.repository.RecipeRow;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class RecipeQueryService {
+
+    private final RecipeQueryRepository recipeQueryRepository;
+
+    public RecipeQueryService(RecipeQueryRepository recipeQueryRepository) {
+        this.recipeQueryRepository = recipeQueryRepository;
+    }
+
+    public Flux<RecipeResponseDTO> getRecipesByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            int page,
+            int size
+    ) {
+        return recipeQueryRepository.findByFilters(
+                        vegetarian, servings, includeIngredients, excludeIngredients, instruction, (long) page * size, size)
+                .bufferUntilChanged(RecipeRow::id)
+                .map(this::mapToResponseDTO);
+    }
+
+    public Mono<RecipeResponseDTO> getRecipeById(Long id) {
+        return recipeQueryRepository.findById(id)
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(this::mapToResponseDTO)
+                .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException(id)));
+    }
+
+    private RecipeResponseDTO mapToResponseDTO(List<RecipeRow> rows) {
+        RecipeRow recipe = rows.get(0);
+        return RecipeResponseDTO.builder()
+                .id(recipe.id())
+                .title(recipe.title())
+                .description(recipe.description())
+                .ingredients(rows.stream().map(RecipeRow::ingredient).filter(Objects::nonNull).toList())
+                .instructions(recipe.instructions())
+                .vegetarian(recipe.vegetarian())
+                .servings(recipe.servings())
+                .version(recipe.version())
+                .build();
+    }
+}
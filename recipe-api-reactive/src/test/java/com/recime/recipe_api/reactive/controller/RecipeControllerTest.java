@@ -0,0 +1,129 @@
+package com.recime.recipe_api.reactive.controller;
+
+import com.recime.recipe_api.reactive.dto.RecipeResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class RecipeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("delete from recipe_ingredients").then()
+                .then(databaseClient.sql("delete from recipes").then())
+                .then(insert(1L, "Tomato Soup", "Simmer the tomatoes", true, 4, List.of("Tomato", "Basil")))
+                .then(insert(2L, "Beef Stew", "Simmer the beef slowly", false, 4, List.of("Beef", "Tomato")))
+                .then(insert(3L, "Caprese", "Slice and serve", true, 2, List.of("Tomato", "Mozzarella", "Basil")))
+                .then(insert(4L, "Plain Rice", "BOIL the rice", true, 4, List.of()))
+                .block();
+    }
+
+    @Test
+    void should_ReturnRecipeWithIngredients_When_IdExists() {
+        webTestClient.get().uri("/api/recipes/{id}", 3)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Caprese")
+                .jsonPath("$.ingredients.length()").isEqualTo(3)
+                .jsonPath("$.vegetarian").isEqualTo(true)
+                .jsonPath("$.servings").isEqualTo(2)
+                .jsonPath("$.version").isEqualTo(0);
+    }
+
+    @Test
+    void should_ReturnNotFound_When_IdDoesNotExist() {
+        webTestClient.get().uri("/api/recipes/{id}", 99)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Recipe not found with id: 99")
+                .jsonPath("$.path").isEqualTo("/api/recipes/99");
+    }
+
+    @Test
+    void should_ApplyAllFilters_When_Combined() {
+        assertThat(ids("/api/recipes?vegetarian=true&servings=4")).containsExactly(1L, 4L);
+        assertThat(ids("/api/recipes?includeIngredients=Tomato&includeIngredients=Basil")).containsExactly(1L, 3L);
+        assertThat(ids("/api/recipes?includeIngredients=Tomato&excludeIngredients=Basil")).containsExactly(2L);
+        assertThat(ids("/api/recipes?excludeIngredients=Tomato")).containsExactly(4L);
+        assertThat(ids("/api/recipes?instruction=simmer&vegetarian=false")).containsExactly(2L);
+        assertThat(ids("/api/recipes?instruction=boil")).containsExactly(4L);
+    }
+
+    @Test
+    void should_ReturnRequestedPageInIdOrder_When_PageAndSizeGiven() {
+        assertThat(ids("/api/recipes?size=3")).containsExactly(1L, 2L, 3L);
+        assertThat(ids("/api/recipes?page=1&size=3")).containsExactly(4L);
+        assertThat(ids("/api/recipes?page=2&size=3")).isEmpty();
+    }
+
+    @Test
+    void should_StreamOneRecipePerLine_When_NdjsonAccepted() {
+        Flux<RecipeResponseDTO> stream = webTestClient.get().uri("/api/recipes?vegetarian=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(RecipeResponseDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(stream)
+                .assertNext(recipe -> assertThat(recipe.getIngredients()).containsExactlyInAnyOrder("Tomato", "Basil"))
+                .assertNext(recipe -> assertThat(recipe.getTitle()).isEqualTo("Caprese"))
+                .assertNext(recipe -> assertThat(recipe.getIngredients()).isEmpty())
+                .verifyComplete();
+    }
+
+    private List<Long> ids(String uri) {
+        return webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeResponseDTO.class)
+                .returnResult()
+                .getResponseBody()
+                .stream()
+                .map(RecipeResponseDTO::getId)
+                .toList();
+    }
+
+    private Mono<Void> insert(Long id, String title, String instructions, boolean vegetarian, int servings,
+                              List<String> ingredients) {
+        Mono<Void> recipe = databaseClient.sql("""
+                        insert into recipes (id, title, description, instructions, vegetarian, servings)
+                        values (:id, :title, :title, :instructions, :vegetarian, :servings)""")
+                .bind("id", id)
+                .bind("title", title)
+                .bind("instructions", instructions)
+                .bind("vegetarian", vegetarian)
+                .bind("servings", servings)
+                .then();
+        return recipe.thenMany(Flux.fromIterable(ingredients)
+                        .concatMap(ingredient -> databaseClient
+                                .sql("insert into recipe_ingredients (recipe_id, ingredient) values (:id, :ingredient)")
+                                .bind("id", id)
+                                .bind("ingredient", ingredient)
+                                .then()))
+                .then();
+    }
+}
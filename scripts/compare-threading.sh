@@ -0,0 +1,124 @@
+#!/usr/bin/env bash
+#
+# Compares throughput and p99 latency of the API on Tomcat platform threads versus virtual threads.
+#
+# Requirements: JDK 21+, Docker (for PostgreSQL from docker-compose.yml), wrk, curl and jq.
+#
+#   scripts/compare-threading.sh
+#
+# Tunables (environment): RECIPES (catalogue size to seed), CONNECTIONS, THREADS, DURATION, WARMUP,
+# RECIPE_DB_POOL_SIZE (virtual mode connection pool size). Results are printed as a Markdown table and
+# the raw wrk output is kept under target/threading-comparison/.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/target/threading-comparison"
+BASE_URL="http://localhost:8080"
+RECIPES="${RECIPES:-20000}"
+CONNECTIONS="${CONNECTIONS:-400}"
+THREADS="${THREADS:-8}"
+DURATION="${DURATION:-60s}"
+WARMUP="${WARMUP:-15s}"
+
+ENDPOINTS=(
+  "by-id|/api/recipes/42"
+  "filter|/api/recipes?vegetarian=true&servings=4&size=20"
+  "ingredients|/api/recipes?includeIngredients=Salt&excludeIngredients=Ingredient%207&size=20"
+  "instruction|/api/recipes?instruction=simmer&size=20&count=NONE"
+  "scroll|/api/recipes/scroll?vegetarian=true&size=50"
+)
+
+for tool in java docker wrk curl jq; do
+  command -v "$tool" >/dev/null || { echo "$tool is required" >&2; exit 1; }
+done
+
+mkdir -p "$OUT"
+cd "$ROOT"
+
+docker compose up -d postgres
+./mvnw -B -q -Pjava21 -DskipTests package
+JAR="$(ls target/recipe-api-*.jar | grep -v -- -plain.jar | head -n 1)"
+
+APP_PID=""
+stop_app() {
+  if [[ -n "$APP_PID" ]]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+  fi
+}
+trap stop_app EXIT
+
+start_app() {
+  local profiles="$1"
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+    --spring.profiles.active="$profiles" \
+    --spring.jpa.show-sql=false \
+    --logging.level.root=WARN > "$OUT/app-${profiles:-platform}.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    curl -fs "$BASE_URL/actuator/health" >/dev/null 2>&1 && return 0
+    sleep 1
+  done
+  echo "application did not start, see $OUT/app-${profiles:-platform}.log" >&2
+  exit 1
+}
+
+seed() {
+  local existing
+  existing="$(curl -fs "$BASE_URL/api/recipes?size=1" | jq '.totalElements')"
+  if (( existing >= RECIPES )); then
+    return
+  fi
+  echo "Seeding $((RECIPES - existing)) recipes"
+  seq "$existing" $((RECIPES - 1)) | jq -c -n '
+    inputs | {
+      title: "Recipe \(.)",
+      description: "Seeded recipe \(.)",
+      ingredients: ["Ingredient \(. % 50)", "Ingredient \(. % 7)", "Salt"],
+      instructions: (if . % 3 == 0 then "Simmer gently for \(. % 60) minutes." else "Bake for \(. % 60) minutes." end),
+      vegetarian: (. % 2 == 0),
+      servings: (. % 6 + 1)
+    }' > "$OUT/seed.ndjson"
+  curl -fs -X POST "$BASE_URL/api/recipes/stream" \
+    -H 'Content-Type: application/x-ndjson' --data-binary "@$OUT/seed.ndjson" >/dev/null
+}
+
+# Prints "<requests/sec> <p99>" from wrk --latency output.
+summarize() {
+  local file="$1"
+  local rps p99
+  rps="$(awk '/Requests\/sec/ {print $2}' "$file")"
+  p99="$(awk '$1 == "99%" {print $2}' "$file")"
+  echo "$rps $p99"
+}
+
+declare -A RESULTS
+for mode in platform virtual; do
+  profiles=""
+  [[ "$mode" == "virtual" ]] && profiles="virtual"
+  start_app "$profiles"
+  seed
+  for endpoint in "${ENDPOINTS[@]}"; do
+    name="${endpoint%%|*}"
+    path="${endpoint#*|}"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$WARMUP" "$BASE_URL$path" >/dev/null
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$BASE_URL$path" > "$OUT/$mode-$name.txt"
+    RESULTS["$mode|$name"]="$(summarize "$OUT/$mode-$name.txt")"
+  done
+  grep -i "pinned" "$OUT/app-${profiles:-platform}.log" > "$OUT/$mode-pinned.txt" || true
+  stop_app
+done
+
+echo
+echo "| endpoint | platform req/s | platform p99 | virtual req/s | virtual p99 |"
+echo "| -------- | -------------- | ------------ | ------------- | ----------- |"
+for endpoint in "${ENDPOINTS[@]}"; do
+  name="${endpoint%%|*}"
+  read -r p_rps p_p99 <<< "${RESULTS["platform|$name"]}"
+  read -r v_rps v_p99 <<< "${RESULTS["virtual|$name"]}"
+  echo "| $name | $p_rps | $p_p99 | $v_rps | $v_p99 |"
+done
+echo
+echo "Pinned-thread traces (virtual mode): $(wc -l < "$OUT/virtual-pinned.txt") lines in $OUT/virtual-pinned.txt"
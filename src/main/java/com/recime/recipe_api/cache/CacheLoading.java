@@ -0,0 +1,115 @@
+package com.recime.recipe_api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads a missing entry on the calling thread without holding a map lock during the load. A synchronous
+ * {@code Cache.get(key, loader)} runs the loader inside {@code ConcurrentHashMap.compute}, which would pin a
+ * virtual thread to its carrier for the whole JDBC round trip. Here only an empty future is installed under
+ * the lock; concurrent callers for the same key wait on it and share the one load.
+ * <p>
+ * A caller that already holds a transaction or an entity manager never waits on another request's unfinished load:
+ * that request may itself be waiting for a pooled connection, and enough such waiters hold the whole pool. It loads
+ * the key itself instead, without sharing the result.
+ */
+final class CacheLoading {
+
+    private CacheLoading() {
+    }
+
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (ignored, executor) -> pending);
+        if (future == pending) {
+            return complete(pending, () -> loader.apply(key));
+        }
+        if (!future.isDone() && holdsConnection()) {
+            return loader.apply(key);
+        }
+
+        // A batch load that did not find the key completes its future with null.
+        V value = join(future);
+        return value != null ? value : loader.apply(key);
+    }
+
+    /**
+     * Like {@link #getOrLoad}, for several keys at once. All keys this caller loads are passed to one
+     * {@code loader} call, which may leave out keys that do not exist.
+     */
+    static <K, V> Map<K, V> getAllOrLoad(AsyncCache<K, V> cache, Collection<K> keys,
+                                         Function<Set<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> shared = new LinkedHashMap<>();
+        for (K key : keys) {
+            CompletableFuture<V> pending = new CompletableFuture<>();
+            CompletableFuture<V> future = cache.get(key, (ignored, executor) -> pending);
+            (future == pending ? owned : shared).put(key, future);
+        }
+
+        Map<K, V> found = new HashMap<>();
+        if (!owned.isEmpty()) {
+            Map<K, V> loaded = complete(owned.values(), () -> loader.apply(owned.keySet()));
+            owned.forEach((key, future) -> future.complete(loaded.get(key)));
+            found.putAll(loaded);
+        }
+
+        Set<K> unshared = new LinkedHashSet<>();
+        boolean holdsConnection = holdsConnection();
+        shared.forEach((key, future) -> {
+            if (!future.isDone() && holdsConnection) {
+                unshared.add(key);
+            } else {
+                V value = join(future);
+                if (value != null) {
+                    found.put(key, value);
+                }
+            }
+        });
+        if (!unshared.isEmpty()) {
+            found.putAll(loader.apply(unshared));
+        }
+        return found;
+    }
+
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static <V> V complete(CompletableFuture<V> pending, Supplier<V> load) {
+        V value = complete(List.of(pending), load);
+        pending.complete(value);
+        return value;
+    }
+
+    // Fails the given futures if the load throws; completing them on success is up to the caller.
+    private static <T> T complete(Collection<? extends CompletableFuture<?>> pending, Supplier<T> load) {
+        try {
+            return load.get();
+        } catch (RuntimeException e) {
+            pending.forEach(future -> future.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private static boolean holdsConnection() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.getResourceMap().isEmpty();
+    }
+}
@@ -0,0 +1,35 @@
+package com.recime.recipe_api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Component
+public class RecipeCountCache {
+
+    private final AsyncCache<RecipeFilterKey, Long> counts;
+
+    public RecipeCountCache(@Value("${recipe.count.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${recipe.count.cache.ttl:10m}") Duration ttl) {
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public long get(RecipeFilterKey key, Supplier<Long> exactCount) {
+        return CacheLoading.getOrLoad(counts, key, ignored -> exactCount.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        counts.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,42 @@
+package com.recime.recipe_api.cache;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@Value
+public class RecipeFilterKey {
+
+    Boolean vegetarian;
+    Integer servings;
+    List<String> includeIngredients;
+    List<String> excludeIngredients;
+    String instruction;
+
+    public static RecipeFilterKey of(Boolean vegetarian,
+                                     Integer servings,
+                                     List<String> includeIngredients,
+                                     List<String> excludeIngredients,
+                                     String instruction) {
+        return new RecipeFilterKey(
+                vegetarian,
+                servings,
+                normalize(includeIngredients),
+                normalize(excludeIngredients),
+                instruction == null || instruction.isBlank() ? null : instruction.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isUnfiltered() {
+        return vegetarian == null && servings == null
+                && includeIngredients.isEmpty() && excludeIngredients.isEmpty() && instruction == null;
+    }
+
+    private static List<String> normalize(List<String> ingredients) {
+        if (ingredients == null) {
+            return List.of();
+        }
+        return ingredients.stream().distinct().sorted().collect(Collectors.toUnmodifiableList());
+    }
+}
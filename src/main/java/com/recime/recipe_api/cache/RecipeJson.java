@@ -0,0 +1,10 @@
+package com.recime.recipe_api.cache;
+
+import lombok.Value;
+
+@Value
+public class RecipeJson {
+
+    long version;
+    byte[] body;
+}
@@ -0,0 +1,141 @@
+package com.recime.recipe_api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.service.RecipeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Serialized {@code GET /api/recipes/{id}} bodies, bounded by their total size in bytes. A hit hands out the cached
+ * array itself, so it is never written to after the entry is created.
+ */
+@Component
+public class RecipeJsonCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "recipe.json";
+    private static final byte[] BATCH_START = "{\"recipes\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_MISSING = "],\"missingIds\":".getBytes(StandardCharsets.UTF_8);
+
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Long, Entry> entries;
+
+    public RecipeJsonCache(RecipeService recipeService,
+                           ObjectMapper objectMapper,
+                           @Value("${recipe.cache.json.max-size:64MB}") DataSize maxSize) {
+        this.recipeService = recipeService;
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, Entry entry) -> entry.json().length)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public RecipeJson get(Long id) {
+        Entry entry = CacheLoading.getOrLoad(entries, id, this::load);
+        return new RecipeJson(entry.version(), entry.json());
+    }
+
+    /**
+     * {@code {"recipes":[...],"missingIds":[...]}} in request order, stitched together from the cached bodies.
+     * Only the misses are loaded, all in one call.
+     */
+    public byte[] getBatch(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Entry> found = CacheLoading.getAllOrLoad(entries, distinctIds, this::loadAll);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<Long> missingIds = new ArrayList<>();
+        body.writeBytes(BATCH_START);
+        boolean first = true;
+        for (Long id : distinctIds) {
+            Entry entry = found.get(id);
+            if (entry == null) {
+                missingIds.add(id);
+                continue;
+            }
+            if (!first) {
+                body.write(',');
+            }
+            body.writeBytes(entry.json());
+            first = false;
+        }
+        body.writeBytes(BATCH_MISSING);
+        body.writeBytes(serialize(missingIds));
+        body.write('}');
+        return body.toByteArray();
+    }
+
+    public long getVersion(Long id) {
+        Entry entry = entries.synchronous().getIfPresent(id);
+        return entry != null ? entry.version() : recipeService.getRecipeVersion(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.getType() != RecipeChangedEvent.Type.CREATED) {
+            entries.synchronous().invalidate(event.getRecipeId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", entries, cache -> cache.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(registry);
+        Gauge.builder("cache.weighted.size", entries, cache -> cache.synchronous().policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Entry load(Long id) {
+        return toEntry(recipeService.getRecipeById(id));
+    }
+
+    private Map<Long, Entry> loadAll(Set<Long> ids) {
+        Map<Long, Entry> loaded = new HashMap<>();
+        recipeService.getRecipesByIds(List.copyOf(ids)).forEach(recipe -> loaded.put(recipe.getId(), toEntry(recipe)));
+        return loaded;
+    }
+
+    private Entry toEntry(RecipeResponseDTO recipe) {
+        return new Entry(recipe.getVersion(), serialize(recipe));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(long version, byte[] json) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.recime.recipe_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.service.CountStrategy;
+import com.recime.recipe_api.service.RecipeSearchResult;
+import com.recime.recipe_api.service.RecipeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Filtered recipe pages keyed by the canonical filters and the page request. An entry stays valid while the
+ * write versions it was computed under are unchanged: the versions of its included ingredients when it has
+ * any, since only recipes holding those ingredients can enter or leave it, and the global version otherwise.
+ * A miss is computed by the requesting thread and never shared, so a search does not wait on another request's
+ * search while its own transaction holds a connection. Ingredient versions live in a fixed table of stripes, so
+ * the memory they take does not grow with the ingredient vocabulary; ingredients sharing a stripe only cost each
+ * other extra misses. Results are copied in and out, since the DTOs are mutable and a hit must not see what an
+ * earlier caller did to its copy.
+ */
+@Component
+public class RecipeResultCache {
+
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final int RECIPE_OVERHEAD = 96;
+    private static final int STRING_OVERHEAD = 48;
+    private static final int INGREDIENT_STRIPES = 4096;
+
+    private final RecipeService recipeService;
+    private final Cache<Key, Entry> results;
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicLongArray ingredientVersions = new AtomicLongArray(INGREDIENT_STRIPES);
+
+    public RecipeResultCache(RecipeService recipeService,
+                             @Value("${recipe.cache.result.max-size:32MB}") DataSize maxSize,
+                             @Value("${recipe.cache.result.ttl:5m}") Duration ttl) {
+        this.recipeService = recipeService;
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher(RecipeResultCache::weigh)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public RecipeSearchResult getRecipesByFilters(Boolean vegetarian,
+                                                  Integer servings,
+                                                  List<String> includeIngredients,
+                                                  List<String> excludeIngredients,
+                                                  String instruction,
+                                                  Pageable pageable,
+                                                  CountStrategy countStrategy) {
+        RecipeFilterKey filter = RecipeFilterKey.of(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        Key key = new Key(filter, pageable, countStrategy);
+        List<Long> versions = versionsOf(filter);
+
+        Entry cached = results.getIfPresent(key);
+        if (cached != null && cached.versions().equals(versions)) {
+            return copyOf(cached.result());
+        }
+
+        RecipeSearchResult result = recipeService.getRecipesByFilters(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable, countStrategy);
+        results.put(key, new Entry(versions, copyOf(result)));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        List<String> currentIngredients = event.getRecipe() == null || event.getRecipe().getIngredients() == null
+                ? List.of()
+                : event.getRecipe().getIngredients();
+
+        Stream.concat(currentIngredients.stream(), event.getPreviousIngredients().stream())
+                .filter(Objects::nonNull)
+                .map(RecipeResultCache::stripeOf)
+                .distinct()
+                .forEach(ingredientVersions::incrementAndGet);
+        globalVersion.incrementAndGet();
+    }
+
+    private List<Long> versionsOf(RecipeFilterKey filter) {
+        if (filter.getIncludeIngredients().isEmpty()) {
+            return List.of(globalVersion.get());
+        }
+        return filter.getIncludeIngredients().stream()
+                .map(ingredient -> ingredientVersions.get(stripeOf(ingredient)))
+                .toList();
+    }
+
+    private static int stripeOf(String ingredient) {
+        int hash = ingredient.hashCode();
+        return (hash ^ (hash >>> 16)) & (INGREDIENT_STRIPES - 1);
+    }
+
+    private static RecipeSearchResult copyOf(RecipeSearchResult result) {
+        return new RecipeSearchResult(result.getRecipes().map(RecipeResultCache::copyOf), result.getCountStrategy());
+    }
+
+    private static RecipeResponseDTO copyOf(RecipeResponseDTO recipe) {
+        return RecipeResponseDTO.builder()
+                .id(recipe.getId())
+                .title(recipe.getTitle())
+                .description(recipe.getDescription())
+                .ingredients(recipe.getIngredients() == null ? null : new ArrayList<>(recipe.getIngredients()))
+                .instructions(recipe.getInstructions())
+                .vegetarian(recipe.isVegetarian())
+                .servings(recipe.getServings())
+                .version(recipe.getVersion())
+                .build();
+    }
+
+    private static int weigh(Key key, Entry entry) {
+        long bytes = ENTRY_OVERHEAD;
+        for (RecipeResponseDTO recipe : entry.result().getRecipes()) {
+            bytes += RECIPE_OVERHEAD + sizeOf(recipe.getTitle()) + sizeOf(recipe.getDescription())
+                    + sizeOf(recipe.getInstructions());
+            if (recipe.getIngredients() != null) {
+                bytes += recipe.getIngredients().stream().mapToLong(RecipeResultCache::sizeOf).sum();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    private record Key(RecipeFilterKey filter, Pageable pageable, CountStrategy countStrategy) {
+    }
+
+    private record Entry(List<Long> versions, RecipeSearchResult result) {
+    }
+}
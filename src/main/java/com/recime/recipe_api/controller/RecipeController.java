@@ -1,40 +1,100 @@
 package com.recime.recipe_api.controller;
 
+import com.recime.recipe_api.cache.RecipeJson;
+import com.recime.recipe_api.cache.RecipeJsonCache;
+import com.recime.recipe_api.cache.RecipeResultCache;
+import com.recime.recipe_api.dto.ImportJobDTO;
+import com.recime.recipe_api.dto.RecipeBulkDeleteDTO;
+import com.recime.recipe_api.dto.RecipeBulkDeleteResultDTO;
 import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipePatchDTO;
 import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.dto.RecipeScrollResponseDTO;
 import com.recime.recipe_api.dto.RecipeUpdateDTO;
+import com.recime.recipe_api.exception.BatchSizeExceededException;
+import com.recime.recipe_api.exception.RecipeVersionMismatchException;
+import com.recime.recipe_api.metrics.StatementBudget;
+import com.recime.recipe_api.service.CountStrategy;
+import com.recime.recipe_api.service.ExportFormat;
+import com.recime.recipe_api.service.RecipeBulkDeleteService;
+import com.recime.recipe_api.service.RecipeExportService;
+import com.recime.recipe_api.service.RecipeField;
+import com.recime.recipe_api.service.RecipeImportJobService;
+import com.recime.recipe_api.service.RecipeImportService;
+import com.recime.recipe_api.service.RecipeSearchResult;
 import com.recime.recipe_api.service.RecipeService;
+import com.recime.recipe_api.web.SerializedJson;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/recipes")
 public class RecipeController {
 
+    private static final int MAX_SCROLL_SIZE = 2000;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_BULK_DELETE_SIZE = 10_000;
+    private static final String COUNT_STRATEGY_HEADER = "X-Count-Strategy";
+
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeImportJobService recipeImportJobService;
+    private final RecipeBulkDeleteService recipeBulkDeleteService;
+    private final RecipeExportService recipeExportService;
+    private final RecipeJsonCache recipeJsonCache;
+    private final RecipeResultCache recipeResultCache;
 
-    public RecipeController(RecipeService recipeService) {
+    public RecipeController(RecipeService recipeService,
+                            RecipeImportService recipeImportService,
+                            RecipeImportJobService recipeImportJobService,
+                            RecipeBulkDeleteService recipeBulkDeleteService,
+                            RecipeExportService recipeExportService,
+                            RecipeJsonCache recipeJsonCache,
+                            RecipeResultCache recipeResultCache) {
         this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
+        this.recipeImportJobService = recipeImportJobService;
+        this.recipeBulkDeleteService = recipeBulkDeleteService;
+        this.recipeExportService = recipeExportService;
+        this.recipeJsonCache = recipeJsonCache;
+        this.recipeResultCache = recipeResultCache;
     }
 
     @PostMapping
+    @StatementBudget(4)
     public ResponseEntity<RecipeResponseDTO> createRecipe(@Valid @RequestBody RecipeCreateDTO dto) {
         RecipeResponseDTO createdRecipe = recipeService.createRecipe(dto);
 
@@ -48,43 +108,214 @@ public class RecipeController {
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<List<RecipeResponseDTO>> createMoreThanOneRecipe(@RequestBody List<RecipeCreateDTO> recipes) {
+    @StatementBudget(value = 3, perHundredItems = 2)
+    public ResponseEntity<List<RecipeResponseDTO>> createMoreThanOneRecipe(@RequestBody List<RecipeCreateDTO> recipes,
+                                                                           WebRequest request) {
+        request.setAttribute(StatementBudget.ITEMS_ATTRIBUTE, recipes.size(), WebRequest.SCOPE_REQUEST);
         List<RecipeResponseDTO> createdRecipes = recipeService.createMoreThanOneRecipe(recipes);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdRecipes);
     }
 
+    @PostMapping("/bulk/jobs")
+    @StatementBudget(0)
+    public ResponseEntity<ImportJobDTO> submitImportJob(@RequestBody List<RecipeCreateDTO> recipes) {
+        ImportJobDTO job = recipeImportJobService.submit(recipes);
+
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/bulk/jobs/{id}")
+    @StatementBudget(0)
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(recipeImportJobService.getJob(id));
+    }
+
+    @PostMapping(value = "/stream", consumes = "application/x-ndjson")
+    @StatementBudget(value = 3, perHundredItems = 3)
+    public void importRecipes(InputStream body, WebRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        long records = recipeImportService.importNdjson(body, response.getOutputStream());
+        request.setAttribute(StatementBudget.ITEMS_ATTRIBUTE, records, WebRequest.SCOPE_REQUEST);
+    }
+
     @GetMapping
-    public ResponseEntity<Page<RecipeResponseDTO>> getRecipes(
+    @StatementBudget(3)
+    public ResponseEntity<Slice<?>> getRecipes(
             @RequestParam(required = false) Boolean vegetarian,
             @RequestParam(required = false) Integer servings,
             @RequestParam(required = false) List<String> includeIngredients,
             @RequestParam(required = false) List<String> excludeIngredients,
             @RequestParam(required = false) String instruction,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(defaultValue = "${recipe.count.default-strategy:EXACT}") CountStrategy count,
             @PageableDefault(size = 10, sort = "id") Pageable pageable
     ) {
-        Page<RecipeResponseDTO> recipes = recipeService.getRecipesByFilters(
-                vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable);
-        return ResponseEntity.ok(recipes);
+        Set<RecipeField> selected = fields == null ? null : RecipeField.parse(fields);
+        if (q != null && !q.isBlank()) {
+            Page<RecipeResponseDTO> ranked = recipeService.searchRecipes(
+                    q, vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable);
+            return withCountStrategy(ranked, CountStrategy.EXACT, selected);
+        }
+
+        RecipeSearchResult result = selected == null
+                ? recipeResultCache.getRecipesByFilters(
+                        vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable, count)
+                : recipeService.getRecipeFieldsByFilters(
+                        vegetarian, servings, includeIngredients, excludeIngredients, instruction, selected, pageable, count);
+        return withCountStrategy(result.getRecipes(), result.getCountStrategy(), selected);
+    }
+
+    @GetMapping("/scroll")
+    @StatementBudget(2)
+    public ResponseEntity<RecipeScrollResponseDTO> scrollRecipes(
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) List<String> includeIngredients,
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @RequestParam(required = false) String instruction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @SortDefault(sort = "id") Sort sort
+    ) {
+        RecipeScrollResponseDTO window = recipeService.scrollRecipesByFilters(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction,
+                cursor, Math.max(1, Math.min(size, MAX_SCROLL_SIZE)), sort);
+        return ResponseEntity.ok(window);
+    }
+
+    @GetMapping("/export")
+    @StatementBudget(2)
+    public void exportRecipes(
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Integer servings,
+            @RequestParam(required = false) List<String> includeIngredients,
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @RequestParam(required = false) String instruction,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("recipes." + format.getExtension()).build().toString());
+        recipeExportService.exportRecipes(vegetarian, servings, includeIngredients, excludeIngredients, instruction,
+                format, response.getOutputStream());
     }
 
+    @GetMapping("/batch")
+    @StatementBudget(2)
+    public ResponseEntity<SerializedJson> getRecipesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BatchSizeExceededException(ids.size(), MAX_BATCH_SIZE);
+        }
+
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(new SerializedJson(recipeJsonCache.getBatch(ids)));
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RecipeResponseDTO> getRecipeById(@PathVariable Long id) {
-        RecipeResponseDTO dto = recipeService.getRecipeById(id);
-        return ResponseEntity.ok(dto);
+    @StatementBudget(3)
+    public ResponseEntity<SerializedJson> getRecipeById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                WebRequest request) {
+        if (ifNoneMatch != null && request.checkNotModified(eTagOf(recipeJsonCache.getVersion(id)))) {
+            return null;
+        }
+
+        RecipeJson json = recipeJsonCache.get(id);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(json.getVersion()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(new SerializedJson(json.getBody()));
     }
 
 
     @PutMapping("/{id}")
+    @StatementBudget(5)
     public ResponseEntity<RecipeResponseDTO> updateRecipe(@PathVariable Long id,
-                                                          @Valid @RequestBody RecipeUpdateDTO dto) {
-        RecipeResponseDTO updatedRecipe = recipeService.updateRecipe(id, dto);
-        return ResponseEntity.ok(updatedRecipe);
+                                                          @Valid @RequestBody RecipeUpdateDTO dto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RecipeResponseDTO updatedRecipe = recipeService.updateRecipe(id, dto, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(eTagOf(updatedRecipe.getVersion())).body(updatedRecipe);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    @StatementBudget(5)
+    public ResponseEntity<RecipeResponseDTO> patchRecipe(@PathVariable Long id,
+                                                         @Valid @RequestBody RecipePatchDTO dto,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RecipeResponseDTO patchedRecipe = recipeService.patchRecipe(id, dto, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(eTagOf(patchedRecipe.getVersion())).body(patchedRecipe);
+    }
+
+    @PostMapping("/bulk-delete")
+    @StatementBudget(value = 4, perHundredItems = 1)
+    public ResponseEntity<RecipeBulkDeleteResultDTO> deleteRecipes(@Valid @RequestBody RecipeBulkDeleteDTO dto,
+                                                                   WebRequest request) {
+        if (dto.getIds() != null && dto.getIds().size() > MAX_BULK_DELETE_SIZE) {
+            throw new BatchSizeExceededException(dto.getIds().size(), MAX_BULK_DELETE_SIZE);
+        }
+
+        RecipeBulkDeleteResultDTO result = recipeBulkDeleteService.delete(dto);
+        request.setAttribute(StatementBudget.ITEMS_ATTRIBUTE,
+                result.getDeletedIds().size() + result.getMissingIds().size(), WebRequest.SCOPE_REQUEST);
+        return ResponseEntity.ok(result);
     }
 
     @DeleteMapping("/{id}")
+    @StatementBudget(5)
     public ResponseEntity<Void> deleteRecipe(@PathVariable Long id) {
         recipeService.deleteRecipe(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<Slice<?>> withCountStrategy(Slice<RecipeResponseDTO> recipes,
+                                                       CountStrategy countStrategy,
+                                                       Set<RecipeField> fields) {
+        return ResponseEntity.ok()
+                .header(COUNT_STRATEGY_HEADER, countStrategy.name())
+                .eTag(eTagOf(recipes, countStrategy, fields))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(fields == null ? recipes : recipes.map(recipe -> RecipeField.select(recipe, fields)));
+    }
+
+    private static String eTagOf(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String eTagOf(Slice<RecipeResponseDTO> recipes, CountStrategy countStrategy, Set<RecipeField> fields) {
+        StringBuilder state = new StringBuilder()
+                .append(countStrategy).append(':')
+                .append(fields == null ? "*" : fields).append(':')
+                .append(recipes.getNumber()).append(':')
+                .append(recipes.getSize()).append(':')
+                .append(recipes.hasNext()).append(':')
+                .append(recipes instanceof Page<?> page ? page.getTotalElements() : -1);
+        recipes.forEach(recipe -> state.append(':').append(recipe.getId()).append('@').append(recipe.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        // Responses to gzip-capable clients carry the version as a weak ETag, see WeakETagFilter.
+        String eTag = ifMatch.trim().startsWith("W/") ? ifMatch.trim().substring(2) : ifMatch.trim();
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+            throw new RecipeVersionMismatchException(id);
+        }
+        try {
+            return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new RecipeVersionMismatchException(id);
+        }
+    }
 }
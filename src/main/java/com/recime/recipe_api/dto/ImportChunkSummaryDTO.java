@@ -0,0 +1,24 @@
+package com.recime.recipe_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportChunkSummaryDTO {
+
+    private int chunk;
+    private long firstLine;
+    private long lastLine;
+    private int accepted;
+    private int rejected;
+    private boolean committed;
+    private String error;
+    private List<ImportRecordErrorDTO> recordErrors;
+}
@@ -0,0 +1,32 @@
+package com.recime.recipe_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportJobDTO {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private UUID id;
+    private Status status;
+    private int totalRecords;
+    private long processedRecords;
+    private long acceptedRecords;
+    private long rejectedRecords;
+    private double recordsPerSecond;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private List<ImportChunkSummaryDTO> chunks;
+}
@@ -0,0 +1,16 @@
+package com.recime.recipe_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRecordErrorDTO {
+
+    private long line;
+    private String message;
+}
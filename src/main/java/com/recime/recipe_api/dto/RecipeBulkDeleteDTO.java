@@ -0,0 +1,49 @@
+package com.recime.recipe_api.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selects the recipes to delete either by {@code ids} or by the same filters as {@code GET /api/recipes}, never
+ * both. A filter needs at least one criterion, so an empty body cannot wipe the catalogue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeBulkDeleteDTO {
+
+    private List<Long> ids;
+
+    private Boolean vegetarian;
+
+    private Integer servings;
+
+    private List<String> includeIngredients;
+
+    private List<String> excludeIngredients;
+
+    private String instruction;
+
+    @JsonIgnore
+    public boolean hasFilter() {
+        return vegetarian != null
+                || servings != null
+                || (includeIngredients != null && !includeIngredients.isEmpty())
+                || (excludeIngredients != null && !excludeIngredients.isEmpty())
+                || (instruction != null && !instruction.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "either ids or at least one filter must be given, but not both")
+    public boolean isSelectionValid() {
+        return (ids != null && !ids.isEmpty()) != hasFilter();
+    }
+}
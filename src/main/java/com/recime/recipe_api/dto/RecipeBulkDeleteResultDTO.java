@@ -0,0 +1,20 @@
+package com.recime.recipe_api.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeBulkDeleteResultDTO {
+
+    private List<Long> deletedIds;
+
+    private List<Long> missingIds;
+}
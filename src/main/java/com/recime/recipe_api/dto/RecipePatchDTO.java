@@ -0,0 +1,43 @@
+package com.recime.recipe_api.dto;
+
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of {@code PATCH /api/recipes/{id}}. Absent or null fields are left unchanged. {@code ingredients}, when
+ * present, is the complete new list; only the rows that differ from the stored list are written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipePatchDTO {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String title;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String description;
+
+    @Size(min = 1)
+    private List<@NotBlank String> ingredients;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String instructions;
+
+    private Boolean vegetarian;
+
+    @Min(1)
+    private Integer servings;
+}
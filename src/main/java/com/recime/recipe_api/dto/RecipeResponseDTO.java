@@ -20,4 +20,5 @@ public class RecipeResponseDTO {
     private String instructions;
     private boolean vegetarian;
     private Integer servings;
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package com.recime.recipe_api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeScrollResponseDTO {
+
+    private List<RecipeResponseDTO> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,31 @@
+package com.recime.recipe_api.event;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RecipeChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long recipeId;
+    private final RecipeResponseDTO recipe;
+    private final List<String> previousIngredients;
+
+    public static RecipeChangedEvent created(RecipeResponseDTO recipe) {
+        return new RecipeChangedEvent(Type.CREATED, recipe.getId(), recipe, List.of());
+    }
+
+    public static RecipeChangedEvent updated(RecipeResponseDTO recipe, List<String> previousIngredients) {
+        return new RecipeChangedEvent(Type.UPDATED, recipe.getId(), recipe, previousIngredients);
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId, List<String> previousIngredients) {
+        return new RecipeChangedEvent(Type.DELETED, recipeId, null, previousIngredients);
+    }
+}
@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class BatchSizeExceededException extends RuntimeException {
+    public BatchSizeExceededException(int size, int maxSize) {
+        super("Batch of " + size + " ids exceeds the maximum of " + maxSize);
+    }
+}
@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException(int capacity) {
+        super("Import queue is full (" + capacity + " jobs waiting), retry later");
+    }
+}
@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.recime.recipe_api.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(long end, int maxResultWindow) {
+        super("Full-text results end at hit " + maxResultWindow + ", the page requested ends at hit " + end);
+    }
+
+    public InvalidSearchQueryException(String query, Throwable cause) {
+        super("Invalid search query: " + query, cause);
+    }
+}
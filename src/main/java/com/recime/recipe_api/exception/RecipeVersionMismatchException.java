@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class RecipeVersionMismatchException extends RuntimeException {
+    public RecipeVersionMismatchException(Long id) {
+        super("Recipe with id " + id + " does not match the given If-Match version");
+    }
+}
@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException() {
+        super("Full-text search index is not available");
+    }
+}
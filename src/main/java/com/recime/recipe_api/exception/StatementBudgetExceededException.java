@@ -0,0 +1,7 @@
+package com.recime.recipe_api.exception;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
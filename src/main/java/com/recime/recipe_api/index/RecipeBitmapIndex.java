@@ -0,0 +1,294 @@
+package com.recime.recipe_api.index;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.repository.RecipeRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Compressed bitmaps of recipe ids per ingredient, vegetarian flag and servings. Only serves id-ordered
+ * pages of int-sized ids; callers fall back to the database query otherwise. Changes committed while the index
+ * is being rebuilt are queued and replayed in order once the snapshot is loaded, so none are lost.
+ */
+@Component
+public class RecipeBitmapIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeBitmapIndex.class);
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap vegetarian = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> servings = new HashMap<>();
+    private final Map<String, RoaringBitmap> ingredients = new HashMap<>();
+    private final Lock changesLock = new ReentrantLock();
+    private final List<RecipeChangedEvent> pendingChanges = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public RecipeBitmapIndex(RecipeRepository recipeRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${recipe.index.bitmap.enabled:false}") boolean enabled) {
+        this.recipeRepository = recipeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        changesLock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            changesLock.unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            all.clear();
+            vegetarian.clear();
+            servings.clear();
+            ingredients.clear();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = recipeRepository.streamIndexedAttributes()) {
+                    rows.forEach(row -> addAttributes(toIndexId((Long) row[0]), (Boolean) row[1], (Integer) row[2]));
+                }
+                try (Stream<Object[]> rows = recipeRepository.streamIngredientPairs()) {
+                    rows.forEach(row -> addIngredient(toIndexId((Long) row[0]), (String) row[1]));
+                }
+            });
+
+            all.runOptimize();
+            ready = true;
+            log.info("Recipe bitmap index built with {} recipes and {} ingredients", all.getCardinality(), ingredients.size());
+        } catch (ArithmeticException e) {
+            log.warn("Recipe bitmap index disabled: recipe ids exceed the supported range");
+        } finally {
+            replayPendingChanges();
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        changesLock.lock();
+        try {
+            if (rebuilding) {
+                pendingChanges.add(event);
+                return;
+            }
+        } finally {
+            changesLock.unlock();
+        }
+        if (!ready) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Page<Long>> findIds(Boolean vegetarianFilter,
+                                        Integer servingsFilter,
+                                        List<String> includeIngredients,
+                                        List<String> excludeIngredients,
+                                        Pageable pageable) {
+        if (!ready || !isIdOrdered(pageable.getSort())) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = match(vegetarianFilter, servingsFilter, includeIngredients, excludeIngredients);
+            boolean descending = pageable.getSort().isSorted()
+                    && pageable.getSort().iterator().next().isDescending();
+            return Optional.of(page(matches, pageable, descending));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RoaringBitmap match(Boolean vegetarianFilter,
+                                Integer servingsFilter,
+                                List<String> includeIngredients,
+                                List<String> excludeIngredients) {
+        RoaringBitmap result = all.clone();
+
+        if (vegetarianFilter != null) {
+            if (vegetarianFilter) {
+                result.and(vegetarian);
+            } else {
+                result.andNot(vegetarian);
+            }
+        }
+
+        if (servingsFilter != null) {
+            result.and(servings.getOrDefault(servingsFilter, new RoaringBitmap()));
+        }
+
+        if (includeIngredients != null && !includeIngredients.isEmpty()) {
+            List<RoaringBitmap> included = new ArrayList<>();
+            for (String ingredient : includeIngredients) {
+                RoaringBitmap bitmap = ingredients.get(ingredient);
+                if (bitmap == null) {
+                    return new RoaringBitmap();
+                }
+                included.add(bitmap);
+            }
+            included.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            included.forEach(result::and);
+        }
+
+        if (excludeIngredients != null) {
+            excludeIngredients.stream()
+                    .map(ingredients::get)
+                    .filter(Objects::nonNull)
+                    .forEach(result::andNot);
+        }
+
+        return result;
+    }
+
+    private Page<Long> page(RoaringBitmap matches, Pageable pageable, boolean descending) {
+        int total = matches.getCardinality();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : total;
+
+        List<Long> ids = new ArrayList<>(Math.min(size, total));
+        if (offset < total) {
+            int position = (int) offset;
+            int end = (int) Math.min((long) total, offset + size);
+            for (; position < end; position++) {
+                int rank = descending ? total - 1 - position : position;
+                ids.add(Integer.toUnsignedLong(matches.select(rank)));
+            }
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private boolean isIdOrdered(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        Iterator<Sort.Order> orders = sort.iterator();
+        Sort.Order order = orders.next();
+        return !orders.hasNext() && order.getProperty().equals("id");
+    }
+
+    // Runs under the write lock; the queue is drained and closed in one step so no change slips in between.
+    private void replayPendingChanges() {
+        changesLock.lock();
+        try {
+            pendingChanges.forEach(this::apply);
+            pendingChanges.clear();
+            rebuilding = false;
+        } finally {
+            changesLock.unlock();
+        }
+    }
+
+    private void apply(RecipeChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        try {
+            int id = toIndexId(event.getRecipeId());
+            remove(id, event.getPreviousIngredients());
+            if (event.getType() != RecipeChangedEvent.Type.DELETED) {
+                add(id, event.getRecipe());
+            }
+        } catch (ArithmeticException e) {
+            ready = false;
+            log.warn("Recipe bitmap index disabled: recipe id {} exceeds the supported range", event.getRecipeId());
+        }
+    }
+
+    private void add(int id, RecipeResponseDTO recipe) {
+        addAttributes(id, recipe.isVegetarian(), recipe.getServings());
+        if (recipe.getIngredients() != null) {
+            recipe.getIngredients().forEach(ingredient -> addIngredient(id, ingredient));
+        }
+    }
+
+    private void addAttributes(int id, Boolean isVegetarian, Integer servingsValue) {
+        all.add(id);
+        if (Boolean.TRUE.equals(isVegetarian)) {
+            vegetarian.add(id);
+        }
+        if (servingsValue != null) {
+            servings.computeIfAbsent(servingsValue, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void addIngredient(int id, String ingredient) {
+        if (ingredient != null) {
+            ingredients.computeIfAbsent(ingredient, key -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    // Only the bitmaps of the recipe's previous ingredients can hold it; servings has a handful of values.
+    private void remove(int id, List<String> previousIngredients) {
+        if (!all.contains(id)) {
+            return;
+        }
+        all.remove(id);
+        vegetarian.remove(id);
+        servings.values().removeIf(bitmap -> {
+            bitmap.remove(id);
+            return bitmap.isEmpty();
+        });
+        previousIngredients.stream().filter(Objects::nonNull).distinct().forEach(ingredient ->
+                ingredients.computeIfPresent(ingredient, (key, bitmap) -> {
+                    bitmap.remove(id);
+                    return bitmap.isEmpty() ? null : bitmap;
+                }));
+    }
+
+    private static int toIndexId(Long id) {
+        return Math.toIntExact(id);
+    }
+}
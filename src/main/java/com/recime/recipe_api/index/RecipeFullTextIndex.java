@@ -0,0 +1,361 @@
+package com.recime.recipe_api.index;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.exception.InvalidSearchQueryException;
+import com.recime.recipe_api.exception.SearchUnavailableException;
+import com.recime.recipe_api.repository.RecipeRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index over recipe title, description and instructions, with the search filters stored as
+ * exact-match fields so a ranked query and its filters are answered in one pass. Changes committed while the
+ * index is being rebuilt are queued and applied in order once the rebuild has loaded its snapshot. Writes do not
+ * reopen the searcher themselves: a background thread does it at most once per refresh interval, so a change is
+ * searchable within that interval.
+ */
+@Component
+public class RecipeFullTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeFullTextIndex.class);
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String INSTRUCTIONS = "instructions";
+    private static final String VEGETARIAN = "vegetarian";
+    private static final String SERVINGS = "servings";
+    private static final String INGREDIENT = "ingredient";
+
+    private static final String[] TEXT_FIELDS = {TITLE, DESCRIPTION, INSTRUCTIONS};
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 3.0f, DESCRIPTION, 1.5f, INSTRUCTIONS, 1.0f);
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxResultWindow;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock changesLock = new ReentrantLock();
+    private final List<RecipeChangedEvent> pendingChanges = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public RecipeFullTextIndex(RecipeRepository recipeRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${recipe.index.fulltext.enabled:false}") boolean enabled,
+                               @Value("${recipe.index.fulltext.max-result-window:10000}") int maxResultWindow,
+                               @Value("${recipe.index.fulltext.refresh-interval:1s}") Duration refreshInterval) {
+        this.recipeRepository = recipeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxResultWindow = maxResultWindow;
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.reopenThread = new ControlledRealTimeReopenThread<>(
+                writer, searcherManager, refreshInterval.toMillis() / 1000.0, 0);
+        this.reopenThread.setName("recipe-fulltext-refresh");
+        this.reopenThread.setDaemon(true);
+        if (enabled) {
+            this.reopenThread.start();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        changesLock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            changesLock.unlock();
+        }
+        writeLock.lock();
+        try {
+            ready = false;
+            writer.deleteAll();
+            transactionTemplate.executeWithoutResult(status -> indexAll());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Recipe full-text index built with {} documents", writer.getDocStats().numDocs);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Recipe full-text index could not be built", e);
+        } finally {
+            replayPendingChanges();
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        changesLock.lock();
+        try {
+            if (rebuilding) {
+                pendingChanges.add(event);
+                return;
+            }
+        } finally {
+            changesLock.unlock();
+        }
+        if (!ready) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            apply(event);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public Page<Long> search(String queryText,
+                             Boolean vegetarian,
+                             Integer servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instruction,
+                             Pageable pageable) {
+        if (!ready) {
+            throw new SearchUnavailableException();
+        }
+
+        Query query = buildQuery(queryText, vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+                int size = pageable.isPaged() ? pageable.getPageSize() : total;
+                if (offset + size > maxResultWindow) {
+                    throw new InvalidSearchQueryException(offset + size, maxResultWindow);
+                }
+
+                List<Long> ids = new ArrayList<>();
+                if (size > 0) {
+                    TopDocs topDocs = searcher.search(query, (int) offset + size);
+                    StoredFields storedFields = searcher.storedFields();
+                    ScoreDoc[] hits = topDocs.scoreDocs;
+                    for (int i = (int) offset; i < hits.length; i++) {
+                        ids.add(Long.valueOf(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+                    }
+                }
+                return new PageImpl<>(ids, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query buildQuery(String queryText,
+                             Boolean vegetarian,
+                             Integer servings,
+                             List<String> includeIngredients,
+                             List<String> excludeIngredients,
+                             String instruction) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(parse(new MultiFieldQueryParser(TEXT_FIELDS, analyzer, BOOSTS), queryText), BooleanClause.Occur.MUST);
+
+        // The keyword is plain text like the database filter: its analyzed tokens are matched as a phrase, and
+        // text without any tokens does not filter at all.
+        Query instructionQuery = instruction == null ? null
+                : new QueryBuilder(analyzer).createPhraseQuery(INSTRUCTIONS, instruction);
+        if (instructionQuery != null) {
+            builder.add(instructionQuery, BooleanClause.Occur.FILTER);
+        }
+
+        if (vegetarian != null) {
+            builder.add(new TermQuery(new Term(VEGETARIAN, vegetarian.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        if (servings != null) {
+            builder.add(IntPoint.newExactQuery(SERVINGS, servings), BooleanClause.Occur.FILTER);
+        }
+
+        if (includeIngredients != null) {
+            includeIngredients.forEach(ingredient ->
+                    builder.add(new TermQuery(new Term(INGREDIENT, ingredient)), BooleanClause.Occur.FILTER));
+        }
+
+        if (excludeIngredients != null) {
+            excludeIngredients.forEach(ingredient ->
+                    builder.add(new TermQuery(new Term(INGREDIENT, ingredient)), BooleanClause.Occur.MUST_NOT));
+        }
+
+        return builder.build();
+    }
+
+    // Runs under the write lock; the queue is drained and closed in one step so no change slips in between.
+    private void replayPendingChanges() {
+        changesLock.lock();
+        try {
+            pendingChanges.forEach(this::apply);
+            pendingChanges.clear();
+            rebuilding = false;
+        } finally {
+            changesLock.unlock();
+        }
+    }
+
+    private void apply(RecipeChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        try {
+            Term id = new Term(ID, String.valueOf(event.getRecipeId()));
+            if (event.getType() == RecipeChangedEvent.Type.DELETED) {
+                writer.deleteDocuments(id);
+            } else {
+                writer.updateDocument(id, toDocument(event.getRecipe()));
+            }
+        } catch (IOException e) {
+            ready = false;
+            log.warn("Recipe full-text index disabled after failing to apply a change to recipe {}", event.getRecipeId(), e);
+        }
+    }
+
+    private Query parse(QueryParser parser, String text) {
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(text);
+        } catch (ParseException | BooleanQuery.TooManyClauses e) {
+            throw new InvalidSearchQueryException(text, e);
+        }
+    }
+
+    private void indexAll() {
+        try (Stream<Object[]> recipes = recipeRepository.streamSearchableAttributesOrderById();
+             Stream<Object[]> ingredientPairs = recipeRepository.streamIngredientPairsOrderById()) {
+            Iterator<Object[]> ingredients = ingredientPairs.iterator();
+            Object[] pendingIngredient = ingredients.hasNext() ? ingredients.next() : null;
+
+            Iterator<Object[]> rows = recipes.iterator();
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                Long id = (Long) row[0];
+
+                List<String> recipeIngredients = new ArrayList<>();
+                while (pendingIngredient != null && ((Long) pendingIngredient[0]) <= id) {
+                    if (pendingIngredient[0].equals(id)) {
+                        recipeIngredients.add((String) pendingIngredient[1]);
+                    }
+                    pendingIngredient = ingredients.hasNext() ? ingredients.next() : null;
+                }
+
+                writer.addDocument(toDocument(RecipeResponseDTO.builder()
+                        .id(id)
+                        .title((String) row[1])
+                        .description((String) row[2])
+                        .instructions((String) row[3])
+                        .vegetarian((Boolean) row[4])
+                        .servings((Integer) row[5])
+                        .ingredients(recipeIngredients)
+                        .build()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Document toDocument(RecipeResponseDTO recipe) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(recipe.getId()), Field.Store.YES));
+        addText(document, TITLE, recipe.getTitle());
+        addText(document, DESCRIPTION, recipe.getDescription());
+        addText(document, INSTRUCTIONS, recipe.getInstructions());
+        document.add(new StringField(VEGETARIAN, String.valueOf(recipe.isVegetarian()), Field.Store.NO));
+        if (recipe.getServings() != null) {
+            document.add(new IntPoint(SERVINGS, recipe.getServings()));
+        }
+        if (recipe.getIngredients() != null) {
+            recipe.getIngredients().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(ingredient -> document.add(new StringField(INGREDIENT, ingredient, Field.Store.NO)));
+        }
+        return document;
+    }
+
+    private void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.recime.recipe_api.metrics;
+
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Tags describing which search filters a call used: {@code filters} lists the active predicates (for example
+ * {@code vegetarian+include}) and {@code include.count} / {@code exclude.count} bucket the ingredient list sizes.
+ * Calls without filters get {@code none} and {@code 0}, so every meter carries the same tag keys.
+ */
+final class RecipeFilterTags {
+
+    private RecipeFilterTags() {
+    }
+
+    static Tags of(String[] parameterNames, Object[] args) {
+        Object vegetarian = null;
+        Object servings = null;
+        Object include = null;
+        Object exclude = null;
+        Object instruction = null;
+        Object query = null;
+        for (int i = 0; i < parameterNames.length; i++) {
+            switch (parameterNames[i]) {
+                case "vegetarian" -> vegetarian = args[i];
+                case "servings" -> servings = args[i];
+                case "includeIngredients" -> include = args[i];
+                case "excludeIngredients" -> exclude = args[i];
+                case "instruction" -> instruction = args[i];
+                case "query" -> query = args[i];
+                default -> {
+                }
+            }
+        }
+
+        StringJoiner filters = new StringJoiner("+").setEmptyValue("none");
+        if (query instanceof String text && !text.isBlank()) {
+            filters.add("q");
+        }
+        if (vegetarian != null) {
+            filters.add("vegetarian");
+        }
+        if (servings != null) {
+            filters.add("servings");
+        }
+        if (size(include) > 0) {
+            filters.add("include");
+        }
+        if (size(exclude) > 0) {
+            filters.add("exclude");
+        }
+        if (instruction instanceof String text && !text.isBlank()) {
+            filters.add("instruction");
+        }
+
+        return Tags.of(
+                "filters", filters.toString(),
+                "include.count", bucket(size(include)),
+                "exclude.count", bucket(size(exclude)));
+    }
+
+    private static int size(Object ingredients) {
+        return ingredients instanceof Collection<?> collection ? collection.size() : 0;
+    }
+
+    private static String bucket(int size) {
+        if (size <= 2) {
+            return Integer.toString(size);
+        }
+        return size <= 4 ? "3-4" : "5+";
+    }
+}
@@ -0,0 +1,89 @@
+package com.recime.recipe_api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@code recipe.service} times every public {@code RecipeService} method, tagged with the filters it was called
+ * with. {@code recipe.repository.rows} records how many rows each {@code RecipeRepository} call returned; the
+ * latency of those calls is Spring Data's own {@code spring.data.repository.invocations} timer.
+ */
+@Aspect
+@Component
+public class RecipeMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public RecipeMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.recime.recipe_api.service.RecipeService.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("recipe.service")
+                    .description("RecipeService method latency")
+                    .tag("method", signature.getName())
+                    .tag("exception", exception)
+                    .tags(RecipeFilterTags.of(signature.getParameterNames(), joinPoint.getArgs()))
+                    .register(meterRegistry));
+        }
+    }
+
+    @AfterReturning(
+            pointcut = "execution(* *(..)) && target(com.recime.recipe_api.repository.RecipeRepository)",
+            returning = "result")
+    public void countRepositoryRows(JoinPoint joinPoint, Object result) {
+        long rows = rows(result);
+        if (rows < 0) {
+            return;
+        }
+        DistributionSummary.builder("recipe.repository.rows")
+                .description("Rows returned per repository call")
+                .baseUnit("rows")
+                .tag("repository", "RecipeRepository")
+                .tag("method", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Rows in a query result, or -1 for results that are not row sets (counts, flags, streams).
+     */
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.recime.recipe_api.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Callers take the difference of
+ * {@link #current()} before and after a unit of work. While shape recording is on, each statement is also tallied
+ * by its normalized SQL so an over-budget request can say which queries it repeated. An inspector configured
+ * through {@code spring.jpa.properties} still runs after this one.
+ */
+@Component
+public class RequestStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final int MAX_SHAPES = 20;
+    private static final int MAX_SHAPE_LENGTH = 300;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private static final ThreadLocal<Statements> STATEMENTS = ThreadLocal.withInitial(Statements::new);
+
+    private StatementInspector delegate = sql -> sql;
+
+    @Override
+    public String inspect(String sql) {
+        Statements statements = STATEMENTS.get();
+        statements.count++;
+        if (statements.shapes != null) {
+            String shape = shapeOf(sql);
+            if (statements.shapes.size() < MAX_SHAPES || statements.shapes.containsKey(shape)) {
+                statements.shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+        return delegate.inspect(sql);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        Object configured = hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        if (configured instanceof StatementInspector inspector) {
+            delegate = inspector;
+        } else if (configured instanceof Class<?> type) {
+            delegate = (StatementInspector) BeanUtils.instantiateClass(type);
+        } else if (configured instanceof String className) {
+            delegate = (StatementInspector) BeanUtils.instantiateClass(
+                    ClassUtils.resolveClassName(className, getClass().getClassLoader()));
+        }
+    }
+
+    public long current() {
+        return STATEMENTS.get().count;
+    }
+
+    public void startRecordingShapes() {
+        STATEMENTS.get().shapes = new LinkedHashMap<>();
+    }
+
+    public Map<String, Integer> recordedShapes() {
+        Map<String, Integer> shapes = STATEMENTS.get().shapes;
+        return shapes != null ? new LinkedHashMap<>(shapes) : Map.of();
+    }
+
+    /**
+     * Statements seen since {@link #startRecordingShapes()}, by normalized SQL, in first-seen order.
+     */
+    public Map<String, Integer> stopRecordingShapes() {
+        Statements statements = STATEMENTS.get();
+        Map<String, Integer> shapes = statements.shapes != null ? statements.shapes : Map.of();
+        statements.shapes = null;
+        return shapes;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = PARAMETER_LIST.matcher(WHITESPACE.matcher(sql).replaceAll(" ").trim()).replaceAll("?, ...");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    private static final class Statements {
+        private long count;
+        private Map<String, Integer> shapes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.recime.recipe_api.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements a handler may issue for one request, including lazy loads during serialization.
+ * Enforced by {@link StatementBudgetFilter}. Handlers whose work grows with the payload also set
+ * {@link #perHundredItems()}. They put the number of items they processed in the {@link #ITEMS_ATTRIBUTE} request
+ * attribute. Budgets are the measured worst case, which for inserts includes the two sequence fetches the pooled id
+ * generator makes on its first use.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    String ITEMS_ATTRIBUTE = "com.recime.recipe_api.metrics.StatementBudget.items";
+
+    int value();
+
+    /**
+     * Extra statements allowed for every started hundred items, e.g. sequence fetches and batched inserts.
+     */
+    int perHundredItems() default 0;
+}
@@ -0,0 +1,62 @@
+package com.recime.recipe_api.metrics;
+
+import com.recime.recipe_api.exception.StatementBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * In {@code fail} mode, rejects a response body whose handler already went over its {@link StatementBudget}. This
+ * runs before anything is written, so the {@link StatementBudgetExceededException} reaches the exception handlers
+ * like any other error. Bodies streamed straight to the response are only reported by {@link StatementBudgetFilter}.
+ */
+@ControllerAdvice
+public class StatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private final RequestStatementCounter statementCounter;
+    private final StatementBudgetFilter.Mode mode;
+
+    public StatementBudgetAdvice(RequestStatementCounter statementCounter,
+                                 @Value("${recipe.statement-budget.mode:log}") StatementBudgetFilter.Mode mode) {
+        this.statementCounter = statementCounter;
+        this.mode = mode;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        // Error bodies written by exception handlers are never rejected.
+        return mode == StatementBudgetFilter.Mode.FAIL
+                && !AnnotatedElementUtils.hasAnnotation(returnType.getContainingClass(), ControllerAdvice.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        StatementBudget budget = StatementBudgetFilter.budgetOf(httpRequest);
+        Object before = httpRequest.getAttribute(StatementBudgetFilter.STATEMENTS_BEFORE_ATTRIBUTE);
+        if (budget == null || !(before instanceof Long start)) {
+            return body;
+        }
+
+        long statements = statementCounter.current() - start;
+        long allowed = StatementBudgetFilter.allowed(budget, httpRequest);
+        if (statements > allowed) {
+            throw new StatementBudgetExceededException(StatementBudgetFilter.describe(
+                    httpRequest, statements, allowed, statementCounter.recordedShapes()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,101 @@
+package com.recime.recipe_api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the SQL statements a request issued with the {@link StatementBudget} of its handler once the request has
+ * completed. An overrun is logged with the statements grouped by shape and counted in
+ * {@code recipe.statement.budget.exceeded}; the response is never buffered, so streamed bodies are unaffected. In
+ * {@code fail} mode {@link StatementBudgetAdvice} also rejects an over-budget response before its body is written.
+ * Tests use this mode.
+ */
+@Component
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_BEFORE_ATTRIBUTE = StatementBudgetFilter.class.getName() + ".statementsBefore";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    private final RequestStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+
+    public StatementBudgetFilter(RequestStatementCounter statementCounter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${recipe.statement-budget.mode:log}") Mode mode) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (mode == Mode.OFF) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long before = statementCounter.current();
+        request.setAttribute(STATEMENTS_BEFORE_ATTRIBUTE, before);
+        statementCounter.startRecordingShapes();
+        Map<String, Integer> shapes;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            shapes = statementCounter.stopRecordingShapes();
+        }
+
+        long statements = statementCounter.current() - before;
+        StatementBudget budget = budgetOf(request);
+        long allowed = budget != null ? allowed(budget, request) : Long.MAX_VALUE;
+        if (statements > allowed) {
+            log.warn(describe(request, statements, allowed, shapes));
+            Counter.builder("recipe.statement.budget.exceeded")
+                    .description("Requests that issued more SQL statements than their handler's budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    static StatementBudget budgetOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method ? method.getMethodAnnotation(StatementBudget.class) : null;
+    }
+
+    static long allowed(StatementBudget budget, HttpServletRequest request) {
+        Object items = request.getAttribute(StatementBudget.ITEMS_ATTRIBUTE);
+        long hundreds = items instanceof Number count ? (count.longValue() + 99) / 100 : 0;
+        return budget.value() + hundreds * budget.perHundredItems();
+    }
+
+    static String describe(HttpServletRequest request, long statements, long budget, Map<String, Integer> shapes) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + uri + " issued " + statements + " SQL statements, budget is " + budget + ":"
+                + shapes.entrySet().stream()
+                .map(shape -> "\n  " + shape.getValue() + "x " + shape.getKey())
+                .collect(Collectors.joining());
+    }
+}
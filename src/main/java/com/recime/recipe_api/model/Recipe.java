@@ -8,16 +8,24 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "recipes")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,7 +33,8 @@ import java.util.List;
 public class Recipe {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+    @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,6 +48,14 @@ public class Recipe {
     @Column(name = "ingredient")
     private List<String> ingredients;
 
+    /**
+     * Copy of {@link #ingredients} on the recipe row for {@code recipe.ingredients.storage=array}. Filled from
+     * {@link #ingredients} on insert; updates set both.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "ingredient_tags", nullable = false)
+    private List<String> ingredientTags;
+
     @Column(columnDefinition = "TEXT")
     private String instructions;
 
@@ -46,4 +63,14 @@ public class Recipe {
     private boolean vegetarian;
 
     private Integer servings;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    void copyIngredientTags() {
+        if (ingredientTags == null) {
+            ingredientTags = ingredients == null ? new ArrayList<>() : new ArrayList<>(ingredients);
+        }
+    }
 }
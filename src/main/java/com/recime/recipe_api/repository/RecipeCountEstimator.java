@@ -0,0 +1,83 @@
+package com.recime.recipe_api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.cache.RecipeFilterKey;
+import com.recime.recipe_api.service.IngredientStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Row estimates from the PostgreSQL planner statistics for the same predicates the search Specifications
+ * build. Empty when the database cannot explain the query (e.g. not PostgreSQL).
+ */
+@Repository
+public class RecipeCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IngredientStorage ingredientStorage;
+
+    public RecipeCountEstimator(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${recipe.ingredients.storage:table}") IngredientStorage ingredientStorage) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ingredientStorage = ingredientStorage;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OptionalLong estimate(RecipeFilterKey filter) {
+        StringBuilder sql = new StringBuilder("explain (format json) select r.id from recipes r where true");
+        List<Object> args = new ArrayList<>();
+
+        if (filter.getVegetarian() != null) {
+            sql.append(" and r.vegetarian = ?");
+            args.add(filter.getVegetarian());
+        }
+        if (filter.getServings() != null) {
+            sql.append(" and r.servings = ?");
+            args.add(filter.getServings());
+        }
+        if (ingredientStorage == IngredientStorage.ARRAY) {
+            if (!filter.getIncludeIngredients().isEmpty()) {
+                sql.append(" and r.ingredient_tags @> ?::varchar[]");
+                args.add(filter.getIncludeIngredients().toArray(String[]::new));
+            }
+            if (!filter.getExcludeIngredients().isEmpty()) {
+                sql.append(" and not (r.ingredient_tags && ?::varchar[])");
+                args.add(filter.getExcludeIngredients().toArray(String[]::new));
+            }
+        } else {
+            for (String ingredient : filter.getIncludeIngredients()) {
+                sql.append(" and ? in (select ri.ingredient from recipe_ingredients ri where ri.recipe_id = r.id)");
+                args.add(ingredient);
+            }
+            for (String ingredient : filter.getExcludeIngredients()) {
+                sql.append(" and ? not in (select ri.ingredient from recipe_ingredients ri where ri.recipe_id = r.id)");
+                args.add(ingredient);
+            }
+        }
+        if (filter.getInstruction() != null) {
+            sql.append(" and lower(r.instructions) like ?");
+            args.add("%" + filter.getInstruction() + "%");
+        }
+
+        try {
+            String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            return OptionalLong.empty();
+        }
+    }
+}
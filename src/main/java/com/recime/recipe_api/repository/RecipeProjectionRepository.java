@@ -0,0 +1,15 @@
+package com.recime.recipe_api.repository;
+
+import com.recime.recipe_api.model.Recipe;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface RecipeProjectionRepository {
+
+    /**
+     * Only the given {@code Recipe} attributes of the matching rows, in that order. No entities are loaded.
+     */
+    List<Object[]> findColumns(Specification<Recipe> spec, List<String> attributes, Sort sort, long offset, int limit);
+}
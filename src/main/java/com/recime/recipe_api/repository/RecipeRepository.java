@@ -3,8 +3,54 @@ package com.recime.recipe_api.repository;
 import com.recime.recipe_api.model.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>,
+        RecipeProjectionRepository {
+
+    @Query("select distinct r from Recipe r left join fetch r.ingredients where r.id in :ids")
+    List<Recipe> findAllWithIngredientsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.version from Recipe r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select i from Recipe r join r.ingredients i where r.id = :id")
+    List<String> findIngredientsById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from recipe_ingredients where recipe_id = :id and ingredient in (:ingredients)", nativeQuery = true)
+    int deleteIngredients(@Param("id") Long id, @Param("ingredients") Collection<String> ingredients);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into recipe_ingredients (recipe_id, ingredient) "
+            + "select :id, t.ingredient from unnest(:ingredients) as t(ingredient)", nativeQuery = true)
+    int insertIngredients(@Param("id") Long id, @Param("ingredients") String[] ingredients);
+
+    @Query("select r.id, i from Recipe r left join r.ingredients i where r.id in :ids")
+    List<Object[]> findIngredientPairsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Recipe r where r.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id, r.vegetarian, r.servings from Recipe r")
+    Stream<Object[]> streamIndexedAttributes();
+
+    @Query("select r.id, i from Recipe r join r.ingredients i")
+    Stream<Object[]> streamIngredientPairs();
+
+    @Query("select r.id, r.title, r.description, r.instructions, r.vegetarian, r.servings from Recipe r order by r.id")
+    Stream<Object[]> streamSearchableAttributesOrderById();
+
+    @Query("select r.id, i from Recipe r join r.ingredients i order by r.id")
+    Stream<Object[]> streamIngredientPairsOrderById();
 }
@@ -0,0 +1,8 @@
+package com.recime.recipe_api.service;
+
+public enum CountStrategy {
+    EXACT,
+    CACHED,
+    ESTIMATED,
+    NONE
+}
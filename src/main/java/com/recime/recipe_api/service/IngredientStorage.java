@@ -0,0 +1,12 @@
+package com.recime.recipe_api.service;
+
+/**
+ * Where ingredients are read and filtered from, set by {@code recipe.ingredients.storage}. Both layouts are always
+ * written.
+ */
+public enum IngredientStorage {
+    /** The {@code recipe_ingredients} table: a second query per page, a correlated subquery per filtered ingredient. */
+    TABLE,
+    /** The {@code ingredient_tags} array on the recipe row: read with the row, filtered with GIN-indexed operators. */
+    ARRAY
+}
@@ -0,0 +1,65 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.dto.RecipeBulkDeleteDTO;
+import com.recime.recipe_api.dto.RecipeBulkDeleteResultDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Deletes recipes in chunks, each committed in its own transaction through {@link RecipeService#deleteRecipes}, so
+ * a large clean-up never holds locks on the whole selection. A failure leaves the earlier chunks deleted.
+ */
+@Service
+public class RecipeBulkDeleteService {
+
+    private final RecipeService recipeService;
+    private final int chunkSize;
+
+    public RecipeBulkDeleteService(RecipeService recipeService,
+                                   @Value("${recipe.bulk-delete.chunk-size:500}") int chunkSize) {
+        this.recipeService = recipeService;
+        this.chunkSize = chunkSize;
+    }
+
+    public RecipeBulkDeleteResultDTO delete(RecipeBulkDeleteDTO dto) {
+        return dto.hasFilter() ? deleteByFilter(dto) : deleteByIds(dto.getIds());
+    }
+
+    private RecipeBulkDeleteResultDTO deleteByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> deleted = new HashSet<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            deleted.addAll(recipeService.deleteRecipes(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()))));
+        }
+
+        return RecipeBulkDeleteResultDTO.builder()
+                .deletedIds(distinctIds.stream().filter(deleted::contains).toList())
+                .missingIds(distinctIds.stream().filter(id -> !deleted.contains(id)).toList())
+                .build();
+    }
+
+    private RecipeBulkDeleteResultDTO deleteByFilter(RecipeBulkDeleteDTO dto) {
+        List<Long> deleted = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<Long> chunk;
+        do {
+            chunk = recipeService.findIdsByFilters(dto.getVegetarian(), dto.getServings(), dto.getIncludeIngredients(),
+                    dto.getExcludeIngredients(), dto.getInstruction(), afterId, chunkSize);
+            if (!chunk.isEmpty()) {
+                deleted.addAll(recipeService.deleteRecipes(chunk));
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+
+        return RecipeBulkDeleteResultDTO.builder()
+                .deletedIds(deleted)
+                .missingIds(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.recime.recipe_api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.exception.InvalidCursorException;
+import lombok.Getter;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort it was issued for plus the sort key values
+ * of the last recipe returned, as base64url-encoded JSON. A token is only accepted with the sort it was issued for.
+ */
+@Getter
+class RecipeCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Function<Object, Object>> SORT_KEYS = Map.of(
+            "id", value -> ((Number) value).longValue(),
+            "title", value -> (String) value
+    );
+
+    private final Sort sort;
+    private final ScrollPosition position;
+
+    private RecipeCursor(Sort sort, ScrollPosition position) {
+        this.sort = sort;
+        this.position = position;
+    }
+
+    static RecipeCursor first(Sort sort) {
+        return new RecipeCursor(keysetSort(sort), ScrollPosition.keyset());
+    }
+
+    /**
+     * @param sort the sort of the request that sent the token, which must be the one the token was issued for
+     */
+    static RecipeCursor decode(String token, Sort sort) {
+        Sort expected = keysetSort(sort);
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            Map<String, Object> payload = MAPPER.readValue(json, new TypeReference<>() {
+            });
+
+            @SuppressWarnings("unchecked")
+            List<String> orders = (List<String>) payload.get("sort");
+            @SuppressWarnings("unchecked")
+            Map<String, Object> keys = (Map<String, Object>) payload.get("keys");
+
+            List<Sort.Order> sortOrders = new ArrayList<>();
+            Map<String, Object> typedKeys = new LinkedHashMap<>();
+            for (String order : orders) {
+                String[] parts = order.split(":");
+                String property = parts[0];
+                if (!SORT_KEYS.containsKey(property) || !keys.containsKey(property)) {
+                    throw new InvalidCursorException("Invalid cursor");
+                }
+                sortOrders.add(new Sort.Order(Sort.Direction.fromString(parts[1]), property));
+                typedKeys.put(property, SORT_KEYS.get(property).apply(keys.get(property)));
+            }
+            if (!Sort.by(sortOrders).equals(expected)) {
+                throw new InvalidCursorException("Cursor was issued for a different sort");
+            }
+            return new RecipeCursor(expected, ScrollPosition.forward(typedKeys));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    // The id tiebreaker keeps the keyset unique, so no recipe is skipped or repeated between windows.
+    private static Sort keysetSort(Sort sort) {
+        Sort requested = sort == null || sort.isUnsorted() ? Sort.by("id") : sort;
+        requested.forEach(order -> {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                throw new InvalidCursorException("Unsupported sort property for cursor pagination: " + order.getProperty());
+            }
+        });
+        return requested.getOrderFor("id") == null ? requested.and(Sort.by("id")) : requested;
+    }
+
+    RecipeCursor next(KeysetScrollPosition lastPosition) {
+        return new RecipeCursor(sort, lastPosition);
+    }
+
+    String encode() {
+        List<String> orders = new ArrayList<>();
+        sort.forEach(order -> orders.add(order.getProperty() + ":" + order.getDirection()));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sort", orders);
+        payload.put("keys", ((KeysetScrollPosition) position).getKeys());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.recime.recipe_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.specification.RecipeSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes every recipe matching the search filters, in id order, straight to the response body. Rows are read
+ * through database cursors of {@code recipe.export.fetch-size} rows as scalar projections, so neither the
+ * persistence context nor the output grows with the catalogue. With the {@code table} ingredient storage a second
+ * cursor over the matching ingredients, in the same order, is merged in.
+ */
+@Service
+public class RecipeExportService {
+
+    static final String CSV_HEADER = "id,title,description,ingredients,instructions,vegetarian,servings,version";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recipeWriter;
+    private final IngredientStorage ingredientStorage;
+    private final int fetchSize;
+
+    public RecipeExportService(EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               @Value("${recipe.ingredients.storage:table}") IngredientStorage ingredientStorage,
+                               @Value("${recipe.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.recipeWriter = objectMapper.writerFor(RecipeResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.ingredientStorage = ingredientStorage;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @return the number of recipes written
+     */
+    @Transactional(readOnly = true)
+    public long exportRecipes(Boolean vegetarian,
+                              Integer servings,
+                              List<String> includeIngredients,
+                              List<String> excludeIngredients,
+                              String instruction,
+                              ExportFormat format,
+                              OutputStream body) {
+        Specification<Recipe> spec = RecipeSpecifications.matching(ingredientStorage,
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        try {
+            return format == ExportFormat.CSV ? writeCsv(spec, body) : writeNdjson(spec, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long writeNdjson(Specification<Recipe> spec, OutputStream body) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(body);
+        long written = forEachRecipe(spec, recipe -> {
+            recipeWriter.writeValue(generator, recipe);
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        return written;
+    }
+
+    private long writeCsv(Specification<Recipe> spec, OutputStream body) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long written = forEachRecipe(spec, recipe -> {
+            writer.write(String.valueOf(recipe.getId()));
+            writer.write(',');
+            writer.write(csvField(recipe.getTitle()));
+            writer.write(',');
+            writer.write(csvField(recipe.getDescription()));
+            writer.write(',');
+            writer.write(csvField(recipe.getIngredients() != null ? String.join(";", recipe.getIngredients()) : null));
+            writer.write(',');
+            writer.write(csvField(recipe.getInstructions()));
+            writer.write(',');
+            writer.write(String.valueOf(recipe.isVegetarian()));
+            writer.write(',');
+            writer.write(recipe.getServings() != null ? String.valueOf(recipe.getServings()) : "");
+            writer.write(',');
+            writer.write(recipe.getVersion() != null ? String.valueOf(recipe.getVersion()) : "");
+            writer.write("\r\n");
+        });
+        writer.flush();
+        return written;
+    }
+
+    private long forEachRecipe(Specification<Recipe> spec, RecipeSink sink) throws IOException {
+        boolean array = ingredientStorage == IngredientStorage.ARRAY;
+        long written = 0;
+        try (Stream<Object[]> recipes = stream(spec, root -> {
+                 List<Selection<?>> columns = new ArrayList<>(List.of(root.get("id"), root.get("title"),
+                         root.get("description"), root.get("instructions"), root.get("vegetarian"),
+                         root.get("servings"), root.get("version")));
+                 if (array) {
+                     columns.add(root.get("ingredientTags"));
+                 }
+                 return columns;
+             });
+             Stream<Object[]> ingredientPairs = array ? Stream.empty()
+                     : stream(spec, root -> List.of(root.get("id"), root.join("ingredients")))) {
+            Iterator<Object[]> ingredients = ingredientPairs.iterator();
+            Object[] pendingIngredient = ingredients.hasNext() ? ingredients.next() : null;
+
+            Iterator<Object[]> rows = recipes.iterator();
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                Long id = (Long) row[0];
+
+                List<String> recipeIngredients;
+                if (array) {
+                    @SuppressWarnings("unchecked")
+                    List<String> tags = (List<String>) row[7];
+                    recipeIngredients = tags;
+                } else {
+                    recipeIngredients = new ArrayList<>();
+                    while (pendingIngredient != null && ((Long) pendingIngredient[0]) <= id) {
+                        if (pendingIngredient[0].equals(id)) {
+                            recipeIngredients.add((String) pendingIngredient[1]);
+                        }
+                        pendingIngredient = ingredients.hasNext() ? ingredients.next() : null;
+                    }
+                }
+
+                sink.accept(RecipeResponseDTO.builder()
+                        .id(id)
+                        .title((String) row[1])
+                        .description((String) row[2])
+                        .instructions((String) row[3])
+                        .vegetarian((Boolean) row[4])
+                        .servings((Integer) row[5])
+                        .version((Long) row[6])
+                        .ingredients(recipeIngredients)
+                        .build());
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private Stream<Object[]> stream(Specification<Recipe> spec, Function<Root<Recipe>, List<Selection<?>>> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Recipe> root = query.from(Recipe.class);
+        query.multiselect(columns.apply(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RecipeSink {
+        void accept(RecipeResponseDTO recipe) throws IOException;
+    }
+}
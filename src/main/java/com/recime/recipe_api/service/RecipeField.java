@@ -0,0 +1,59 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.exception.InvalidFieldsException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The properties of {@link RecipeResponseDTO} a list request can select with {@code fields=}. The name is both the
+ * JSON property and the {@code Recipe} attribute.
+ */
+@Getter
+@AllArgsConstructor
+public enum RecipeField {
+    ID("id", RecipeResponseDTO::getId),
+    TITLE("title", RecipeResponseDTO::getTitle),
+    DESCRIPTION("description", RecipeResponseDTO::getDescription),
+    INGREDIENTS("ingredients", RecipeResponseDTO::getIngredients),
+    INSTRUCTIONS("instructions", RecipeResponseDTO::getInstructions),
+    VEGETARIAN("vegetarian", RecipeResponseDTO::isVegetarian),
+    SERVINGS("servings", RecipeResponseDTO::getServings),
+    VERSION("version", RecipeResponseDTO::getVersion);
+
+    private final String property;
+    private final Function<RecipeResponseDTO, Object> getter;
+
+    /**
+     * The requested fields, always with {@code id} and {@code version} so a row can be fetched, cached and updated.
+     */
+    public static Set<RecipeField> parse(List<String> names) {
+        Set<RecipeField> fields = EnumSet.of(ID, VERSION);
+        for (String property : names.stream().flatMap(name -> Arrays.stream(name.split(","))).map(String::trim).toList()) {
+            if (property.isEmpty()) {
+                continue;
+            }
+            fields.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldsException("Unknown field '" + property + "', expected one of "
+                            + Arrays.stream(values()).map(RecipeField::getProperty).collect(Collectors.joining(", ")))));
+        }
+        return fields;
+    }
+
+    public static Map<String, Object> select(RecipeResponseDTO recipe, Set<RecipeField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        fields.forEach(field -> selected.put(field.property, field.getter.apply(recipe)));
+        return selected;
+    }
+}
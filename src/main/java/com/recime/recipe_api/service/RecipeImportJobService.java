@@ -0,0 +1,185 @@
+package com.recime.recipe_api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recime.recipe_api.dto.ImportChunkSummaryDTO;
+import com.recime.recipe_api.dto.ImportJobDTO;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.exception.ImportJobNotFoundException;
+import com.recime.recipe_api.exception.ImportQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk imports in the background so the request returns as soon as the payload is parsed. A fixed number of
+ * workers takes jobs from a bounded queue, and a job submitted while the queue is full is rejected instead of piling
+ * up payloads in memory. Each job is committed in chunks through {@link RecipeImportService#importChunk}, so a
+ * failing chunk only loses its own records. Job states are kept in memory for {@code recipe.import.jobs.retention}
+ * after their last progress and are lost on restart.
+ */
+@Service
+public class RecipeImportJobService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportJobService.class);
+
+    private final RecipeImportService recipeImportService;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final Duration shutdownTimeout;
+    private final ThreadPoolExecutor executor;
+    private final Cache<UUID, ImportJob> jobs;
+
+    public RecipeImportJobService(RecipeImportService recipeImportService,
+                                  @Value("${recipe.import.chunk-size:500}") int chunkSize,
+                                  @Value("${recipe.import.jobs.workers:2}") int workers,
+                                  @Value("${recipe.import.jobs.queue-capacity:10}") int queueCapacity,
+                                  @Value("${recipe.import.jobs.retention:1h}") Duration retention,
+                                  @Value("${recipe.import.jobs.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.recipeImportService = recipeImportService;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.shutdownTimeout = shutdownTimeout;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("recipe-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    public ImportJobDTO submit(List<RecipeCreateDTO> records) {
+        ImportJob job = new ImportJob(UUID.randomUUID(), records);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            throw new ImportQueueFullException(queueCapacity);
+        }
+        return job.snapshot();
+    }
+
+    public ImportJobDTO getJob(UUID id) {
+        ImportJob job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ImportJobNotFoundException(id);
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "recipe.import.jobs", Tags.empty()).bindTo(registry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Import jobs still running after {}, interrupting them", shutdownTimeout);
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(ImportJob job) {
+        List<RecipeCreateDTO> records = job.start();
+        try {
+            for (int from = 0; from < records.size(); from += chunkSize) {
+                List<RecipeCreateDTO> chunk = records.subList(from, Math.min(from + chunkSize, records.size()));
+                job.record(recipeImportService.importChunk(from / chunkSize + 1, from + 1, chunk));
+                jobs.put(job.id, job);
+            }
+            job.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Import job {} failed", job.id, e);
+            job.finish(e.getMessage());
+        }
+        jobs.put(job.id, job);
+    }
+
+    private static final class ImportJob {
+
+        private final UUID id;
+        private final int totalRecords;
+        private final Instant submittedAt = Instant.now();
+        private final List<ImportChunkSummaryDTO> chunks = new ArrayList<>();
+        private List<RecipeCreateDTO> records;
+        private ImportJobDTO.Status status = ImportJobDTO.Status.QUEUED;
+        private long processed;
+        private long accepted;
+        private long rejected;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String error;
+
+        private ImportJob(UUID id, List<RecipeCreateDTO> records) {
+            this.id = id;
+            this.totalRecords = records.size();
+            this.records = records;
+        }
+
+        private synchronized List<RecipeCreateDTO> start() {
+            status = ImportJobDTO.Status.RUNNING;
+            startedAt = Instant.now();
+            List<RecipeCreateDTO> pending = records;
+            records = null;
+            return pending;
+        }
+
+        private synchronized void record(ImportChunkSummaryDTO chunk) {
+            chunks.add(chunk);
+            processed += chunk.getLastLine() - chunk.getFirstLine() + 1;
+            accepted += chunk.getAccepted();
+            rejected += chunk.getRejected();
+        }
+
+        private synchronized void finish(String failure) {
+            status = failure == null ? ImportJobDTO.Status.COMPLETED : ImportJobDTO.Status.FAILED;
+            error = failure;
+            finishedAt = Instant.now();
+        }
+
+        private synchronized ImportJobDTO snapshot() {
+            return ImportJobDTO.builder()
+                    .id(id)
+                    .status(status)
+                    .totalRecords(totalRecords)
+                    .processedRecords(processed)
+                    .acceptedRecords(accepted)
+                    .rejectedRecords(rejected)
+                    .recordsPerSecond(recordsPerSecond())
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .chunks(List.copyOf(chunks))
+                    .build();
+        }
+
+        private double recordsPerSecond() {
+            if (startedAt == null) {
+                return 0;
+            }
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            return processed * 1000.0 / Math.max(millis, 1);
+        }
+    }
+}
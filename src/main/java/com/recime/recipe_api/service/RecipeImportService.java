@@ -0,0 +1,169 @@
+package com.recime.recipe_api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.recime.recipe_api.dto.ImportChunkSummaryDTO;
+import com.recime.recipe_api.dto.ImportRecordErrorDTO;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class RecipeImportService {
+
+    private final RecipeService recipeService;
+    private final Validator validator;
+    private final ObjectReader recipeReader;
+    private final ObjectWriter summaryWriter;
+    private final int chunkSize;
+
+    public RecipeImportService(RecipeService recipeService,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               @Value("${recipe.import.chunk-size:500}") int chunkSize) {
+        this.recipeService = recipeService;
+        this.validator = validator;
+        this.recipeReader = objectMapper.readerFor(RecipeCreateDTO.class);
+        this.summaryWriter = objectMapper.writerFor(ImportChunkSummaryDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads NDJSON records from {@code body} and commits them in chunks. Each chunk's summary is written to
+     * {@code summaries} as one NDJSON line, and flushed, as soon as the chunk is done, so nothing is held back
+     * until the end of the payload.
+     *
+     * @return the number of records read
+     */
+    public long importNdjson(InputStream body, OutputStream summaries) {
+        List<RecipeCreateDTO> valid = new ArrayList<>(chunkSize);
+        List<ImportRecordErrorDTO> errors = new ArrayList<>();
+        long lineNumber = 0;
+        long firstLine = 1;
+        long records = 0;
+        int chunk = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            JsonGenerator generator = summaryWriter.createGenerator(summaries);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                readRecord(line, lineNumber, valid, errors);
+                records++;
+
+                if (valid.size() + errors.size() >= chunkSize) {
+                    writeSummary(generator, writeChunk(++chunk, firstLine, lineNumber, valid, errors));
+                    valid = new ArrayList<>(chunkSize);
+                    errors = new ArrayList<>();
+                    firstLine = lineNumber + 1;
+                }
+            }
+
+            if (!valid.isEmpty() || !errors.isEmpty()) {
+                writeSummary(generator, writeChunk(++chunk, firstLine, lineNumber, valid, errors));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+
+    /**
+     * Validates and commits one chunk of already parsed records. The {@code line} of a record error is the position
+     * of the record in the whole payload, counting from {@code firstRecord}.
+     */
+    public ImportChunkSummaryDTO importChunk(int chunk, long firstRecord, List<RecipeCreateDTO> records) {
+        List<RecipeCreateDTO> valid = new ArrayList<>(records.size());
+        List<ImportRecordErrorDTO> errors = new ArrayList<>();
+        long position = firstRecord;
+        for (RecipeCreateDTO dto : records) {
+            if (dto == null) {
+                errors.add(new ImportRecordErrorDTO(position, "Record is null"));
+            } else {
+                validateRecord(dto, position, valid, errors);
+            }
+            position++;
+        }
+        return writeChunk(chunk, firstRecord, firstRecord + records.size() - 1, valid, errors);
+    }
+
+    private void readRecord(String line, long lineNumber, List<RecipeCreateDTO> valid, List<ImportRecordErrorDTO> errors) {
+        RecipeCreateDTO dto;
+        try {
+            dto = recipeReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            errors.add(new ImportRecordErrorDTO(lineNumber, "Malformed JSON: " + e.getOriginalMessage()));
+            return;
+        }
+
+        validateRecord(dto, lineNumber, valid, errors);
+    }
+
+    private void validateRecord(RecipeCreateDTO dto, long lineNumber,
+                                List<RecipeCreateDTO> valid, List<ImportRecordErrorDTO> errors) {
+        Set<ConstraintViolation<RecipeCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            errors.add(new ImportRecordErrorDTO(lineNumber, describe(violations)));
+            return;
+        }
+        valid.add(dto);
+    }
+
+    private ImportChunkSummaryDTO writeChunk(int chunk, long firstLine, long lastLine,
+                                             List<RecipeCreateDTO> valid, List<ImportRecordErrorDTO> errors) {
+        ImportChunkSummaryDTO.ImportChunkSummaryDTOBuilder summary = ImportChunkSummaryDTO.builder()
+                .chunk(chunk)
+                .firstLine(firstLine)
+                .lastLine(lastLine)
+                .recordErrors(errors);
+
+        if (valid.isEmpty()) {
+            return summary.accepted(0).rejected(errors.size()).committed(false).build();
+        }
+
+        try {
+            recipeService.createMoreThanOneRecipe(valid);
+            summary.accepted(valid.size()).rejected(errors.size()).committed(true);
+        } catch (RuntimeException e) {
+            summary.accepted(0).rejected(valid.size() + errors.size()).committed(false).error(e.getMessage());
+        }
+        return summary.build();
+    }
+
+    private void writeSummary(JsonGenerator generator, ImportChunkSummaryDTO summary) throws IOException {
+        summaryWriter.writeValue(generator, summary);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private String describe(Set<ConstraintViolation<RecipeCreateDTO>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,14 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+@Getter
+@AllArgsConstructor
+public class RecipeSearchResult {
+
+    private final Slice<RecipeResponseDTO> recipes;
+    private final CountStrategy countStrategy;
+}
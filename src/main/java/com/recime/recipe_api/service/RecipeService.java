@@ -1,18 +1,48 @@
 package com.recime.recipe_api.service;
 
+import com.recime.recipe_api.cache.RecipeCountCache;
+import com.recime.recipe_api.cache.RecipeFilterKey;
 import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipePatchDTO;
 import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.dto.RecipeScrollResponseDTO;
 import com.recime.recipe_api.dto.RecipeUpdateDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
 import com.recime.recipe_api.exception.RecipeNotFoundException;
+import com.recime.recipe_api.exception.RecipeVersionMismatchException;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
 import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
 import com.recime.recipe_api.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.recime.recipe_api.specification.RecipeSpecifications.*;
@@ -20,10 +50,30 @@ import static com.recime.recipe_api.specification.RecipeSpecifications.*;
 @Service
 public class RecipeService {
 
+    static final int ID_CHUNK_SIZE = 500;
+
     private final RecipeRepository recipeRepository;
+    private final RecipeBitmapIndex recipeBitmapIndex;
+    private final RecipeFullTextIndex recipeFullTextIndex;
+    private final RecipeCountCache recipeCountCache;
+    private final RecipeCountEstimator recipeCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngredientStorage ingredientStorage;
 
-    public RecipeService(RecipeRepository recipeRepository) {
+    public RecipeService(RecipeRepository recipeRepository,
+                         RecipeBitmapIndex recipeBitmapIndex,
+                         RecipeFullTextIndex recipeFullTextIndex,
+                         RecipeCountCache recipeCountCache,
+                         RecipeCountEstimator recipeCountEstimator,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${recipe.ingredients.storage:table}") IngredientStorage ingredientStorage) {
         this.recipeRepository = recipeRepository;
+        this.recipeBitmapIndex = recipeBitmapIndex;
+        this.recipeFullTextIndex = recipeFullTextIndex;
+        this.recipeCountCache = recipeCountCache;
+        this.recipeCountEstimator = recipeCountEstimator;
+        this.eventPublisher = eventPublisher;
+        this.ingredientStorage = ingredientStorage;
     }
 
     public RecipeResponseDTO createRecipe(RecipeCreateDTO dto) {
@@ -38,9 +88,12 @@ public class RecipeService {
 
         Recipe savedRecipe = recipeRepository.save(recipe);
 
-        return mapToResponseDTO(savedRecipe);
+        RecipeResponseDTO response = mapToResponseDTO(savedRecipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.created(response));
+        return response;
     }
 
+    @Transactional
     public List<RecipeResponseDTO> createMoreThanOneRecipe(List<RecipeCreateDTO> dtos) {
         List<Recipe> recipes = dtos.stream().map(dto -> Recipe.builder()
                         .title(dto.getTitle())
@@ -53,9 +106,12 @@ public class RecipeService {
                 .collect(Collectors.toList());
 
         List<Recipe> savedRecipes = recipeRepository.saveAll(recipes);
-        return savedRecipes.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
+        List<RecipeResponseDTO> responses = savedRecipes.stream().map(this::mapToResponseDTO).collect(Collectors.toList());
+        responses.forEach(response -> eventPublisher.publishEvent(RecipeChangedEvent.created(response)));
+        return responses;
     }
 
+    @Transactional(readOnly = true)
     public Page<RecipeResponseDTO> getRecipesByFilters(
             Boolean vegetarian,
             Integer servings,
@@ -64,33 +120,271 @@ public class RecipeService {
             String instruction,
             Pageable pageable
     ) {
-        Specification<Recipe> spec = (root, query, cb) -> cb.conjunction();
+        if (instruction == null || instruction.isBlank()) {
+            Optional<Page<Long>> indexedIds = recipeBitmapIndex.findIds(
+                    vegetarian, servings, includeIngredients, excludeIngredients, pageable);
+            if (indexedIds.isPresent()) {
+                return loadPage(indexedIds.get());
+            }
+        }
+
+        Specification<Recipe> spec = buildSpecification(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+
+        Page<Recipe> recipes = recipeRepository.findAll(spec, pageable);
+        fetchIngredients(recipes.getContent());
+
+        return recipes.map(this::mapToResponseDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public RecipeSearchResult getRecipesByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            Pageable pageable,
+            CountStrategy countStrategy
+    ) {
+        if (countStrategy == CountStrategy.EXACT) {
+            Page<RecipeResponseDTO> page = getRecipesByFilters(
+                    vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable);
+            return new RecipeSearchResult(page, CountStrategy.EXACT);
+        }
+
+        if (instruction == null || instruction.isBlank()) {
+            Optional<Page<Long>> indexedIds = recipeBitmapIndex.findIds(
+                    vegetarian, servings, includeIngredients, excludeIngredients, pageable);
+            if (indexedIds.isPresent()) {
+                return new RecipeSearchResult(loadPage(indexedIds.get()), CountStrategy.EXACT);
+            }
+        }
+
+        Specification<Recipe> spec = buildSpecification(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        Slice<Recipe> recipes = recipeRepository.findBy(spec, query -> query.slice(pageable));
+        fetchIngredients(recipes.getContent());
+        Slice<RecipeResponseDTO> slice = recipes.map(this::mapToResponseDTO);
+
+        return withTotal(slice, spec, RecipeFilterKey.of(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction), pageable, countStrategy);
+    }
+
+    /**
+     * Like {@link #getRecipesByFilters(Boolean, Integer, List, List, String, Pageable, CountStrategy)}, but only the
+     * columns of the given fields are selected, and ingredients are read only when requested. The other properties of
+     * the returned recipes are left empty.
+     */
+    @Transactional(readOnly = true)
+    public RecipeSearchResult getRecipeFieldsByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            Set<RecipeField> fields,
+            Pageable pageable,
+            CountStrategy countStrategy
+    ) {
+        if (instruction == null || instruction.isBlank()) {
+            Optional<Page<Long>> indexedIds = recipeBitmapIndex.findIds(
+                    vegetarian, servings, includeIngredients, excludeIngredients, pageable);
+            if (indexedIds.isPresent()) {
+                Page<Long> ids = indexedIds.get();
+                Map<Long, RecipeResponseDTO> recipesById = selectFields(hasIdIn(ids.getContent()), fields,
+                        Sort.unsorted(), 0, ids.getNumberOfElements()).stream()
+                        .collect(Collectors.toMap(RecipeResponseDTO::getId, Function.identity()));
+                List<RecipeResponseDTO> content = ids.getContent().stream()
+                        .map(recipesById::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                return new RecipeSearchResult(
+                        new PageImpl<>(content, ids.getPageable(), ids.getTotalElements()), CountStrategy.EXACT);
+            }
+        }
+
+        Specification<Recipe> spec = buildSpecification(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        List<RecipeResponseDTO> content = selectFields(spec, fields, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        Slice<RecipeResponseDTO> slice = new SliceImpl<>(
+                hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+
+        return withTotal(slice, spec, RecipeFilterKey.of(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction), pageable, countStrategy);
+    }
+
+    private RecipeSearchResult withTotal(Slice<RecipeResponseDTO> slice,
+                                         Specification<Recipe> spec,
+                                         RecipeFilterKey filter,
+                                         Pageable pageable,
+                                         CountStrategy countStrategy) {
+        if (countStrategy == CountStrategy.NONE) {
+            return new RecipeSearchResult(slice, CountStrategy.NONE);
+        }
+
+        if (countStrategy == CountStrategy.EXACT) {
+            return new RecipeSearchResult(
+                    PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> recipeRepository.count(spec)),
+                    CountStrategy.EXACT);
+        }
+
+        if (countStrategy == CountStrategy.ESTIMATED) {
+            OptionalLong estimate = recipeCountEstimator.estimate(filter);
+            if (estimate.isPresent()) {
+                long seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+                return new RecipeSearchResult(
+                        new PageImpl<>(slice.getContent(), pageable, Math.max(estimate.getAsLong(), seen)),
+                        CountStrategy.ESTIMATED);
+            }
+        }
+
+        long total = recipeCountCache.get(filter, () -> recipeRepository.count(spec));
+        return new RecipeSearchResult(new PageImpl<>(slice.getContent(), pageable, total), CountStrategy.CACHED);
+    }
+
+    @Transactional(readOnly = true)
+    public RecipeScrollResponseDTO scrollRecipesByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            String cursor,
+            int size,
+            Sort sort
+    ) {
+        RecipeCursor start = cursor == null || cursor.isBlank()
+                ? RecipeCursor.first(sort)
+                : RecipeCursor.decode(cursor, sort);
+
+        Specification<Recipe> spec = buildSpecification(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+        Window<Recipe> window = recipeRepository.findBy(spec, query -> query
+                .sortBy(start.getSort())
+                .limit(size)
+                .scroll(start.getPosition()));
+        fetchIngredients(window.getContent());
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? start.next((KeysetScrollPosition) window.positionAt(window.size() - 1)).encode()
+                : null;
+
+        return RecipeScrollResponseDTO.builder()
+                .content(window.getContent().stream().map(this::mapToResponseDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RecipeResponseDTO> searchRecipes(
+            String query,
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            Pageable pageable
+    ) {
+        Page<Long> rankedIds = recipeFullTextIndex.search(
+                query, vegetarian, servings, includeIngredients, excludeIngredients, instruction, pageable);
+        return loadPage(rankedIds);
+    }
+
+    private Specification<Recipe> buildSpecification(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction
+    ) {
+        return matching(ingredientStorage, vegetarian, servings, includeIngredients, excludeIngredients, instruction);
+    }
 
-        if (vegetarian != null) {
-            spec = spec.and(hasVegetarian(vegetarian));
+    private List<RecipeResponseDTO> selectFields(Specification<Recipe> spec, Set<RecipeField> fields,
+                                                 Sort sort, long offset, int limit) {
+        boolean ingredientColumn = fields.contains(RecipeField.INGREDIENTS) && ingredientStorage == IngredientStorage.ARRAY;
+        List<RecipeField> columns = fields.stream().filter(field -> field != RecipeField.INGREDIENTS).toList();
+        List<String> attributes = new ArrayList<>(columns.stream().map(RecipeField::getProperty).toList());
+        if (ingredientColumn) {
+            attributes.add("ingredientTags");
         }
 
-        if (servings != null) {
-            spec = spec.and(hasServings(servings));
+        List<RecipeResponseDTO> recipes = new ArrayList<>();
+        for (Object[] row : recipeRepository.findColumns(spec, attributes, sort, offset, limit)) {
+            RecipeResponseDTO recipe = new RecipeResponseDTO();
+            for (int i = 0; i < columns.size(); i++) {
+                setField(recipe, columns.get(i), row[i]);
+            }
+            if (ingredientColumn) {
+                @SuppressWarnings("unchecked")
+                List<String> tags = (List<String>) row[columns.size()];
+                recipe.setIngredients(tags);
+            }
+            recipes.add(recipe);
         }
 
-        if (includeIngredients != null && !includeIngredients.isEmpty()) {
-            spec = spec.and(hasIngredientsInclude(includeIngredients));
+        if (fields.contains(RecipeField.INGREDIENTS) && !ingredientColumn && !recipes.isEmpty()) {
+            Map<Long, RecipeResponseDTO> recipesById = recipes.stream()
+                    .collect(Collectors.toMap(RecipeResponseDTO::getId, Function.identity()));
+            recipes.forEach(recipe -> recipe.setIngredients(new ArrayList<>()));
+            for (Object[] pair : recipeRepository.findIngredientPairsByIdIn(recipesById.keySet())) {
+                if (pair[1] != null) {
+                    recipesById.get((Long) pair[0]).getIngredients().add((String) pair[1]);
+                }
+            }
         }
+        return recipes;
+    }
 
-        if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
-            spec = spec.and(hasIngredientsExclude(excludeIngredients));
+    private static void setField(RecipeResponseDTO recipe, RecipeField field, Object value) {
+        switch (field) {
+            case ID -> recipe.setId((Long) value);
+            case TITLE -> recipe.setTitle((String) value);
+            case DESCRIPTION -> recipe.setDescription((String) value);
+            case INSTRUCTIONS -> recipe.setInstructions((String) value);
+            case VEGETARIAN -> recipe.setVegetarian((Boolean) value);
+            case SERVINGS -> recipe.setServings((Integer) value);
+            case VERSION -> recipe.setVersion((Long) value);
+            case INGREDIENTS -> recipe.setIngredients(null);
         }
+    }
 
-        if (instruction != null && !instruction.isBlank()) {
-            spec = spec.and(hasInstructionContaining(instruction));
+    private Page<RecipeResponseDTO> loadPage(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
         }
 
-        return recipeRepository.findAll(spec, pageable)
-                .map(this::mapToResponseDTO);
+        Map<Long, Recipe> recipesById = findAllForResponse(ids.getContent()).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        List<RecipeResponseDTO> content = ids.getContent().stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<Recipe> findAllForResponse(Collection<Long> ids) {
+        return ingredientStorage == IngredientStorage.ARRAY
+                ? recipeRepository.findAllById(ids)
+                : recipeRepository.findAllWithIngredientsByIdIn(ids);
     }
 
+    private void fetchIngredients(List<Recipe> recipes) {
+        if (recipes.isEmpty() || ingredientStorage == IngredientStorage.ARRAY) {
+            return;
+        }
+        List<Long> ids = recipes.stream().map(Recipe::getId).collect(Collectors.toList());
+        // The page entities are already managed, so the fetch join initializes their collections in place.
+        recipeRepository.findAllWithIngredientsByIdIn(ids);
+    }
 
+
+    @Transactional(readOnly = true)
     public RecipeResponseDTO getRecipeById(Long id) {
         Recipe recipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
@@ -98,38 +392,221 @@ public class RecipeService {
         return mapToResponseDTO(recipe);
     }
 
+    @Transactional(readOnly = true)
+    public List<RecipeResponseDTO> getRecipesByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+
+        Map<Long, Recipe> recipesById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+            findAllForResponse(chunk).forEach(recipe -> recipesById.put(recipe.getId(), recipe));
+        }
+
+        return distinctIds.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public long getRecipeVersion(Long id) {
+        return recipeRepository.findVersionById(id)
+                .orElseThrow(() -> new RecipeNotFoundException(id));
+    }
+
+    @Transactional
     public RecipeResponseDTO updateRecipe(Long id, RecipeUpdateDTO dto) {
+        return updateRecipe(id, dto, null);
+    }
+
+    @Transactional
+    public RecipeResponseDTO updateRecipe(Long id, RecipeUpdateDTO dto, Long expectedVersion) {
         Recipe existingRecipe = recipeRepository.findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existingRecipe.getVersion())) {
+            throw new RecipeVersionMismatchException(id);
+        }
+        List<String> previousIngredients = existingRecipe.getIngredients() == null
+                ? List.of()
+                : new ArrayList<>(existingRecipe.getIngredients());
 
         existingRecipe.setTitle(dto.getTitle());
         existingRecipe.setDescription(dto.getDescription());
         existingRecipe.setIngredients(dto.getIngredients());
+        existingRecipe.setIngredientTags(dto.getIngredients() == null ? new ArrayList<>() : new ArrayList<>(dto.getIngredients()));
         existingRecipe.setInstructions(dto.getInstructions());
         existingRecipe.setVegetarian(dto.isVegetarian());
         existingRecipe.setServings(dto.getServings());
 
         Recipe updatedRecipe = recipeRepository.save(existingRecipe);
+        // Flush now so the version check runs here and the response carries the incremented version.
+        recipeRepository.flush();
 
-        return mapToResponseDTO(updatedRecipe);
+        RecipeResponseDTO response = mapToResponseDTO(updatedRecipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(response, previousIngredients));
+        return response;
     }
 
+    /**
+     * Applies the non-null fields of {@code dto}. Only changed columns are updated, and a new ingredient list is
+     * written as the rows to delete and insert, so the ingredient collection is never loaded or rewritten.
+     * <p>
+     * The {@code recipe_ingredients} diff is applied in the array storage mode too, in the same transaction as the
+     * new {@code ingredient_tags}. Both copies are derived from the same list, so they cannot drift apart, and
+     * {@code recipe.ingredients.storage} can be switched back to {@code table} without a migration.
+     */
+    @Transactional
+    public RecipeResponseDTO patchRecipe(Long id, RecipePatchDTO dto, Long expectedVersion) {
+        Recipe recipe = recipeRepository.findById(id)
+                .orElseThrow(() -> new RecipeNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(recipe.getVersion())) {
+            throw new RecipeVersionMismatchException(id);
+        }
+        List<String> previousIngredients = ingredientStorage == IngredientStorage.ARRAY
+                ? List.copyOf(recipe.getIngredientTags())
+                : recipeRepository.findIngredientsById(id);
+
+        // The ingredient statements flush the session first, so columns are changed after them to keep one update.
+        List<String> ingredients = previousIngredients;
+        if (dto.getIngredients() != null) {
+            ingredients = applyIngredientDiff(id, previousIngredients, dto.getIngredients());
+        }
+        boolean changed = applyChangedColumns(recipe, dto);
+        if (ingredients != previousIngredients) {
+            // Also makes the row dirty, so Hibernate raises the version for an ingredient-only change.
+            recipe.setIngredientTags(new ArrayList<>(ingredients));
+            changed = true;
+        }
+        if (!changed) {
+            return mapToResponseDTO(recipe, previousIngredients);
+        }
+
+        recipeRepository.flush();
+        RecipeResponseDTO response = mapToResponseDTO(recipe, ingredients);
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(response, previousIngredients));
+        return response;
+    }
+
+    private static boolean applyChangedColumns(Recipe recipe, RecipePatchDTO dto) {
+        boolean changed = false;
+        if (dto.getTitle() != null && !dto.getTitle().equals(recipe.getTitle())) {
+            recipe.setTitle(dto.getTitle());
+            changed = true;
+        }
+        if (dto.getDescription() != null && !dto.getDescription().equals(recipe.getDescription())) {
+            recipe.setDescription(dto.getDescription());
+            changed = true;
+        }
+        if (dto.getInstructions() != null && !dto.getInstructions().equals(recipe.getInstructions())) {
+            recipe.setInstructions(dto.getInstructions());
+            changed = true;
+        }
+        if (dto.getVegetarian() != null && dto.getVegetarian() != recipe.isVegetarian()) {
+            recipe.setVegetarian(dto.getVegetarian());
+            changed = true;
+        }
+        if (dto.getServings() != null && !dto.getServings().equals(recipe.getServings())) {
+            recipe.setServings(dto.getServings());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Returns {@code previous} itself when nothing changed, otherwise the stored list after the diff: the kept
+     * ingredients in their stored order followed by the added ones.
+     */
+    private List<String> applyIngredientDiff(Long id, List<String> previous, List<String> requested) {
+        Set<String> wanted = new LinkedHashSet<>(requested);
+        List<String> removed = previous.stream().filter(ingredient -> !wanted.contains(ingredient)).distinct().toList();
+        List<String> added = wanted.stream().filter(ingredient -> !previous.contains(ingredient)).toList();
+        if (removed.isEmpty() && added.isEmpty()) {
+            return previous;
+        }
+
+        if (!removed.isEmpty()) {
+            recipeRepository.deleteIngredients(id, removed);
+        }
+        if (!added.isEmpty()) {
+            recipeRepository.insertIngredients(id, added.toArray(String[]::new));
+        }
+
+        List<String> ingredients = new ArrayList<>(previous);
+        ingredients.removeAll(removed);
+        ingredients.addAll(added);
+        return ingredients;
+    }
+
+    @Transactional
     public void deleteRecipe(Long id) {
         if (!recipeRepository.existsById(id)) {
             throw new EmptyResultDataAccessException("Recipe not found", 1);
         }
+        List<String> previousIngredients = recipeRepository.findIngredientsById(id);
         recipeRepository.deleteById(id);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(id, previousIngredients));
+    }
+
+    /**
+     * Deletes the given recipes with one bulk statement, which Hibernate precedes with one for their ingredient
+     * rows, and returns the ids that existed. Callers bound the number of ids; see {@link RecipeBulkDeleteService}.
+     */
+    @Transactional
+    public List<Long> deleteRecipes(Collection<Long> ids) {
+        Map<Long, List<String>> ingredientsById = new LinkedHashMap<>();
+        for (Object[] pair : recipeRepository.findIngredientPairsByIdIn(ids)) {
+            List<String> ingredients = ingredientsById.computeIfAbsent((Long) pair[0], id -> new ArrayList<>());
+            if (pair[1] != null) {
+                ingredients.add((String) pair[1]);
+            }
+        }
+        if (ingredientsById.isEmpty()) {
+            return List.of();
+        }
+
+        recipeRepository.deleteAllByIdIn(ingredientsById.keySet());
+        ingredientsById.forEach((id, ingredients) ->
+                eventPublisher.publishEvent(RecipeChangedEvent.deleted(id, ingredients)));
+        return List.copyOf(ingredientsById.keySet());
+    }
+
+    /**
+     * Up to {@code limit} ids above {@code afterId} that match the filters, in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByFilters(
+            Boolean vegetarian,
+            Integer servings,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instruction,
+            long afterId,
+            int limit
+    ) {
+        Specification<Recipe> spec = buildSpecification(
+                vegetarian, servings, includeIngredients, excludeIngredients, instruction)
+                .and(hasIdGreaterThan(afterId));
+        return recipeRepository.findColumns(spec, List.of("id"), Sort.by("id"), 0, limit).stream()
+                .map(row -> (Long) row[0])
+                .collect(Collectors.toList());
     }
 
     private RecipeResponseDTO mapToResponseDTO(Recipe recipe) {
+        List<String> ingredients = ingredientStorage == IngredientStorage.ARRAY ? recipe.getIngredientTags() : recipe.getIngredients();
+        return mapToResponseDTO(recipe, ingredients == null ? null : new ArrayList<>(ingredients));
+    }
+
+    private static RecipeResponseDTO mapToResponseDTO(Recipe recipe, List<String> ingredients) {
         return RecipeResponseDTO.builder()
                 .id(recipe.getId())
                 .title(recipe.getTitle())
                 .description(recipe.getDescription())
-                .ingredients(recipe.getIngredients())
+                .ingredients(ingredients)
                 .instructions(recipe.getInstructions())
                 .vegetarian(recipe.isVegetarian())
                 .servings(recipe.getServings())
+                .version(recipe.getVersion())
                 .build();
     }
 }
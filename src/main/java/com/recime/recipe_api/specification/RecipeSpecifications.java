@@ -1,14 +1,52 @@
 package com.recime.recipe_api.specification;
 
 import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.service.IngredientStorage;
 import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class RecipeSpecifications {
 
+    public static Specification<Recipe> matching(IngredientStorage storage,
+                                                 Boolean vegetarian,
+                                                 Integer servings,
+                                                 List<String> includeIngredients,
+                                                 List<String> excludeIngredients,
+                                                 String instruction) {
+        Specification<Recipe> spec = (root, query, cb) -> cb.conjunction();
+
+        if (vegetarian != null) {
+            spec = spec.and(hasVegetarian(vegetarian));
+        }
+
+        if (servings != null) {
+            spec = spec.and(hasServings(servings));
+        }
+
+        if (includeIngredients != null && !includeIngredients.isEmpty()) {
+            spec = spec.and(storage == IngredientStorage.ARRAY
+                    ? hasIngredientTagsInclude(includeIngredients)
+                    : hasIngredientsInclude(includeIngredients));
+        }
+
+        if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
+            spec = spec.and(storage == IngredientStorage.ARRAY
+                    ? hasIngredientTagsExclude(excludeIngredients)
+                    : hasIngredientsExclude(excludeIngredients));
+        }
+
+        if (instruction != null && !instruction.isBlank()) {
+            spec = spec.and(hasInstructionContaining(instruction));
+        }
+
+        return spec;
+    }
+
     public static Specification<Recipe> hasVegetarian(Boolean vegetarian) {
         return (root, query, criteriaBuilder) -> {
             if (vegetarian == null) return criteriaBuilder.conjunction();
@@ -49,6 +87,29 @@ public class RecipeSpecifications {
         };
     }
 
+    public static Specification<Recipe> hasIngredientTagsInclude(List<String> includeIngredients) {
+        return (root, query, criteriaBuilder) -> {
+            if (includeIngredients == null || includeIngredients.isEmpty())
+                return criteriaBuilder.conjunction();
+
+            return ((HibernateCriteriaBuilder) criteriaBuilder)
+                    .collectionIncludes(root.<List<String>>get("ingredientTags"), includeIngredients);
+        };
+    }
+
+    public static Specification<Recipe> hasIngredientTagsExclude(List<String> excludeIngredients) {
+        return (root, query, criteriaBuilder) -> {
+            if (excludeIngredients == null || excludeIngredients.isEmpty())
+                return criteriaBuilder.conjunction();
+
+            // A single "not (tags && ?)". A negation cannot use the GIN index, so it filters the rows found by the
+            // other predicates.
+            return ((HibernateCriteriaBuilder) criteriaBuilder)
+                    .collectionIntersects(root.<List<String>>get("ingredientTags"), excludeIngredients)
+                    .not();
+        };
+    }
+
     public static Specification<Recipe> hasInstructionContaining(String keyword) {
         return (root, query, criteriaBuilder) -> {
             if (keyword == null || keyword.isBlank()) return criteriaBuilder.conjunction();
@@ -58,4 +119,12 @@ public class RecipeSpecifications {
             );
         };
     }
+
+    public static Specification<Recipe> hasIdGreaterThan(long id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Recipe> hasIdIn(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
 }
@@ -0,0 +1,13 @@
+package com.recime.recipe_api.web;
+
+import lombok.Value;
+
+/**
+ * A response body that is already serialized JSON, such as the bodies held by {@code RecipeJsonCache}. Written by
+ * {@link SerializedJsonHttpMessageConverter}.
+ */
+@Value
+public class SerializedJson {
+
+    byte[] body;
+}
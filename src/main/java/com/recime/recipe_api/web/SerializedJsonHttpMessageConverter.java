@@ -0,0 +1,73 @@
+package com.recime.recipe_api.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link SerializedJson} as is for JSON, and for CBOR or Smile copies it token by token into the binary
+ * encoding. Transcoding skips the object mapping, so cached bodies keep their advantage in every format.
+ */
+public class SerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<SerializedJson> {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final JsonFactory cborFactory = new CBORFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final JsonFactory smileFactory = new SmileFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    public SerializedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SerializedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected SerializedJson readInternal(Class<? extends SerializedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("SerializedJson is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(SerializedJson json, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        JsonFactory target = contentType == null ? jsonFactory
+                : contentType.isCompatibleWith(MediaType.APPLICATION_CBOR) ? cborFactory
+                : contentType.isCompatibleWith(APPLICATION_SMILE) ? smileFactory
+                : jsonFactory;
+        if (target == jsonFactory) {
+            outputMessage.getBody().write(json.getBody());
+            return;
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(json.getBody());
+             JsonGenerator generator = target.createGenerator(outputMessage.getBody())) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    @Override
+    protected Long getContentLength(SerializedJson json, MediaType contentType) {
+        return contentType == null || contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? (long) json.getBody().length
+                : null;
+    }
+}
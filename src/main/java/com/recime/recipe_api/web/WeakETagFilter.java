@@ -0,0 +1,49 @@
+package com.recime.recipe_api.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Tomcat never compresses a response with a strong {@code ETag}, because the gzipped bytes are a different
+ * representation. For clients that accept gzip the ETags are therefore sent weak, as nginx does when it compresses.
+ * Conditional GETs compare ETags weakly anyway, and {@code If-Match} accepts the version in either form.
+ */
+@Component
+public class WeakETagFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        filterChain.doFilter(request, new HttpServletResponseWrapper(response) {
+
+            @Override
+            public void setHeader(String name, String value) {
+                super.setHeader(name, weaken(name, value));
+            }
+
+            @Override
+            public void addHeader(String name, String value) {
+                super.addHeader(name, weaken(name, value));
+            }
+        });
+    }
+
+    private static String weaken(String name, String value) {
+        return HttpHeaders.ETAG.equalsIgnoreCase(name) && value != null && value.startsWith("\"") ? "W/" + value : value;
+    }
+}
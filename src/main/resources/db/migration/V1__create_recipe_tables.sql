@@ -0,0 +1,14 @@
+create table if not exists recipes (
+    id           bigint       not null primary key,
+    title        varchar(255) not null,
+    description  text,
+    instructions text,
+    vegetarian   boolean      not null,
+    servings     integer
+);
+
+create table if not exists recipe_ingredients (
+    recipe_id  bigint       not null,
+    ingredient varchar(255),
+    constraint fk_recipe_ingredients_recipe foreign key (recipe_id) references recipes (id)
+);
@@ -0,0 +1,18 @@
+-- Databases created by ddl-auto before the switch to a pooled sequence still have an identity column.
+alter table recipes alter column id drop identity if exists;
+
+create sequence if not exists recipes_seq increment by 50;
+
+-- Builds between the switch to recipes_seq and the Flyway migrations let ddl-auto=update create the sequence
+-- starting at 1, next to ids already handed out by the identity column. The create above is skipped for them, so
+-- make sure the increment matches the entity's allocation size of 50.
+alter sequence recipes_seq increment by 50;
+
+-- Keeps instances that are still running from inserting while the sequence is moved.
+lock table recipes in share row exclusive mode;
+
+-- The pooled optimizer hands out the 50 ids ending at the value it reads, so start one block past max(id). Never
+-- move back: a running instance may still hand out the block ending at last_value.
+select setval('recipes_seq',
+              greatest(coalesce((select max(id) from recipes), 0), (select last_value from recipes_seq)) + 50,
+              false);
@@ -0,0 +1,14 @@
+-- Ingredient fetch join and the correlated "ingredient in (select ... where recipe_id = ?)" filters.
+create index if not exists idx_recipe_ingredients_recipe_ingredient on recipe_ingredients (recipe_id, ingredient);
+
+-- Recipe lookups by ingredient (bitmap index rebuilds, ingredient-first plans).
+create index if not exists idx_recipe_ingredients_ingredient_recipe on recipe_ingredients (ingredient, recipe_id);
+
+-- vegetarian/servings equality filters with the default sort=id pagination.
+create index if not exists idx_recipes_vegetarian_servings_id on recipes (vegetarian, servings, id);
+create index if not exists idx_recipes_servings_id on recipes (servings, id);
+create index if not exists idx_recipes_vegetarian_id on recipes (id) where vegetarian;
+
+-- lower(instructions) like '%keyword%'
+create extension if not exists pg_trgm;
+create index if not exists idx_recipes_instructions_trgm on recipes using gin (lower(instructions) gin_trgm_ops);
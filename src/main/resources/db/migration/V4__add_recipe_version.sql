@@ -0,0 +1,2 @@
+-- Optimistic locking and ETags for recipes.
+alter table recipes add column if not exists version bigint not null default 0;
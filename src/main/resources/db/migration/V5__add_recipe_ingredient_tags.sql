@@ -0,0 +1,14 @@
+-- Ingredients copied onto the recipe row for recipe.ingredients.storage=array. recipe_ingredients stays the
+-- written source, so the mode can be switched back without another migration.
+alter table recipes add column if not exists ingredient_tags varchar(255)[] not null default '{}';
+
+update recipes r
+set ingredient_tags = i.tags
+from (select recipe_id, array_agg(ingredient) as tags
+      from recipe_ingredients
+      where ingredient is not null
+      group by recipe_id) i
+where i.recipe_id = r.id;
+
+-- Include filters: ingredient_tags @> array[...]. Exclusions are negated and filter rows found by other predicates.
+create index if not exists idx_recipes_ingredient_tags on recipes using gin (ingredient_tags);
@@ -0,0 +1,150 @@
+package com.recime.recipe_api.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.exception.RecipeNotFoundException;
+import com.recime.recipe_api.service.RecipeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeJsonCacheTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(recipeService.getRecipeById(anyLong())).thenAnswer(invocation -> recipe(invocation.getArgument(0)));
+    }
+
+    @Test
+    void should_LoadRecipeOnce_When_RequestedRepeatedly() throws Exception {
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofMegabytes(1));
+
+        RecipeJson first = cache.get(1L);
+        RecipeJson second = cache.get(1L);
+
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(second.getVersion()).isEqualTo(3L);
+        assertThat(objectMapper.readValue(first.getBody(), RecipeResponseDTO.class).getTitle()).isEqualTo("Recipe 1");
+        verify(recipeService, times(1)).getRecipeById(1L);
+    }
+
+    @Test
+    void should_ReloadRecipe_When_UpdatedOrDeleted() {
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofMegabytes(1));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        cache.onRecipeChanged(RecipeChangedEvent.updated(recipe(1L), List.of("Tomato")));
+        cache.onRecipeChanged(RecipeChangedEvent.deleted(2L, List.of("Tomato")));
+        cache.onRecipeChanged(RecipeChangedEvent.created(recipe(3L)));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        verify(recipeService, times(2)).getRecipeById(1L);
+        verify(recipeService, times(2)).getRecipeById(2L);
+        verify(recipeService, times(1)).getRecipeById(3L);
+    }
+
+    @Test
+    void should_AnswerVersionWithoutLoadingRecipe_When_NotCached() {
+        when(recipeService.getRecipeVersion(5L)).thenReturn(7L);
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofMegabytes(1));
+        cache.get(1L);
+
+        assertThat(cache.getVersion(1L)).isEqualTo(3L);
+        assertThat(cache.getVersion(5L)).isEqualTo(7L);
+        verify(recipeService, never()).getRecipeVersion(1L);
+        verify(recipeService, never()).getRecipeById(5L);
+    }
+
+    @Test
+    void should_ReturnBatchInRequestOrder_And_LoadOnlyMisses_When_FetchingMany() throws Exception {
+        when(recipeService.getRecipesByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 100).map(this::recipe).toList();
+        });
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofMegabytes(1));
+        cache.get(2L);
+
+        JsonNode batch = objectMapper.readTree(cache.getBatch(List.of(3L, 2L, 404L, 1L, 3L)));
+
+        assertThat(batch.get("recipes").findValuesAsText("title")).containsExactly("Recipe 3", "Recipe 2", "Recipe 1");
+        assertThat(batch.get("missingIds").get(0).asLong()).isEqualTo(404L);
+        assertThat(batch.get("missingIds")).hasSize(1);
+        verify(recipeService).getRecipesByIds(argThat(ids -> ids.size() == 3 && !ids.contains(2L)));
+
+        cache.getBatch(List.of(1L, 2L, 3L));
+        verify(recipeService, times(1)).getRecipesByIds(anyCollection());
+    }
+
+    @Test
+    void should_NotCacheMissingRecipe_When_RecipeNotFound() {
+        when(recipeService.getRecipeById(9L)).thenThrow(new RecipeNotFoundException(9L));
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> cache.get(9L)).isInstanceOf(RecipeNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(9L)).isInstanceOf(RecipeNotFoundException.class);
+        verify(recipeService, times(2)).getRecipeById(9L);
+    }
+
+    @Test
+    void should_EvictBySize_And_ReportMetrics_When_MaxSizeExceeded() {
+        int entrySize = cacheEntrySize();
+        RecipeJsonCache cache = new RecipeJsonCache(recipeService, objectMapper, DataSize.ofBytes(entrySize * 3L));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        for (long id = 1; id <= 10; id++) {
+            cache.get(id);
+        }
+        cache.get(10L);
+
+        await().untilAsserted(() -> {
+            assertThat(registry.get("cache.evictions").functionCounter().count()).isGreaterThan(0);
+            assertThat(registry.get("cache.weighted.size").gauge().value()).isLessThanOrEqualTo(entrySize * 3);
+        });
+        assertThat(registry.get("cache.hit.ratio").gauge().value()).isGreaterThan(0);
+    }
+
+    private int cacheEntrySize() {
+        try {
+            return objectMapper.writeValueAsBytes(recipe(1L)).length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RecipeResponseDTO recipe(Long id) {
+        return RecipeResponseDTO.builder()
+                .id(id)
+                .title("Recipe " + id)
+                .description("Description")
+                .ingredients(List.of("Tomato"))
+                .instructions("Cook")
+                .vegetarian(true)
+                .servings(2)
+                .version(3L)
+                .build();
+    }
+}
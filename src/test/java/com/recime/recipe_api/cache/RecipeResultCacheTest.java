@@ -0,0 +1,115 @@
+package com.recime.recipe_api.cache;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.service.CountStrategy;
+import com.recime.recipe_api.service.RecipeSearchResult;
+import com.recime.recipe_api.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeResultCacheTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    private RecipeResultCache recipeResultCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(recipeService.getRecipesByFilters(any(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> new RecipeSearchResult(
+                        new PageImpl<>(List.of(recipe(1L, new ArrayList<>(List.of("Tomato"))))), CountStrategy.EXACT));
+        recipeResultCache = new RecipeResultCache(recipeService, DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void should_ReuseResult_When_FiltersAreEquivalent() {
+        RecipeSearchResult first = recipeResultCache.getRecipesByFilters(
+                true, 4, List.of("Tomato", "Basil"), null, "Bake", PageRequest.of(0, 10), CountStrategy.EXACT);
+        RecipeSearchResult second = recipeResultCache.getRecipesByFilters(
+                true, 4, List.of("Basil", "Tomato", "Basil"), List.of(), "bake", PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        assertThat(second.getRecipes().getContent()).isEqualTo(first.getRecipes().getContent());
+        verify(recipeService, times(1)).getRecipesByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void should_ServeUnchangedRecipes_When_EarlierCallerMutatedItsResult() {
+        RecipeSearchResult first = recipeResultCache.getRecipesByFilters(
+                true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+        first.getRecipes().getContent().get(0).setTitle("Changed");
+        first.getRecipes().getContent().get(0).getIngredients().add("Basil");
+
+        RecipeSearchResult second = recipeResultCache.getRecipesByFilters(
+                true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+        second.getRecipes().getContent().get(0).setServings(8);
+        RecipeSearchResult third = recipeResultCache.getRecipesByFilters(
+                true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        assertThat(third.getRecipes().getContent()).containsExactly(recipe(1L, List.of("Tomato")));
+        verify(recipeService, times(1)).getRecipesByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void should_CacheEachPageSeparately_When_PageableDiffers() {
+        recipeResultCache.getRecipesByFilters(true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+        recipeResultCache.getRecipesByFilters(true, null, null, null, null, PageRequest.of(1, 10), CountStrategy.EXACT);
+        recipeResultCache.getRecipesByFilters(true, null, null, null, null, PageRequest.of(1, 10), CountStrategy.EXACT);
+
+        verify(recipeService, times(2)).getRecipesByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void should_KeepIngredientResults_When_WriteTouchesOtherIngredients() {
+        recipeResultCache.getRecipesByFilters(null, null, List.of("Tomato"), null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+        recipeResultCache.getRecipesByFilters(true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        recipeResultCache.onRecipeChanged(RecipeChangedEvent.created(recipe(2L, List.of("Rice"))));
+
+        recipeResultCache.getRecipesByFilters(null, null, List.of("Tomato"), null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+        recipeResultCache.getRecipesByFilters(true, null, null, null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        verify(recipeService, times(1)).getRecipesByFilters(
+                isNull(), isNull(), eq(List.of("Tomato")), isNull(), isNull(), any(), any());
+        verify(recipeService, times(2)).getRecipesByFilters(
+                eq(true), isNull(), isNull(), isNull(), isNull(), any(), any());
+    }
+
+    @Test
+    void should_RecomputeIngredientResults_When_IngredientRemovedOrRecipeDeleted() {
+        recipeResultCache.getRecipesByFilters(null, null, List.of("Tomato"), null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        recipeResultCache.onRecipeChanged(RecipeChangedEvent.updated(recipe(1L, List.of("Rice")), List.of("Tomato")));
+        recipeResultCache.getRecipesByFilters(null, null, List.of("Tomato"), null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        recipeResultCache.onRecipeChanged(RecipeChangedEvent.deleted(3L, List.of("Tomato", "Basil")));
+        recipeResultCache.getRecipesByFilters(null, null, List.of("Tomato"), null, null, PageRequest.of(0, 10), CountStrategy.EXACT);
+
+        verify(recipeService, times(3)).getRecipesByFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    private RecipeResponseDTO recipe(Long id, List<String> ingredients) {
+        return RecipeResponseDTO.builder()
+                .id(id)
+                .title("Recipe " + id)
+                .ingredients(ingredients)
+                .vegetarian(true)
+                .servings(4)
+                .build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.web.SerializedJsonHttpMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A real server, since response compression is applied by Tomcat and not by MockMvc.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class RecipeControllerBinaryFormatTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[%s],\"instructions\":\"%s\",\"vegetarian\":true,\"servings\":41}";
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void should_TranscodeCachedJson_When_CborOrSmileAccepted() throws Exception {
+        Long id = createRecipe("Binary", 12);
+        byte[] json = mockMvc.perform(get("/api/recipes/{id}", id))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] cbor = mockMvc.perform(get("/api/recipes/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/recipes/batch").param("ids", String.valueOf(id), "-1")
+                        .accept(SerializedJsonHttpMessageConverter.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SerializedJsonHttpMessageConverter.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readTree(cbor)).isEqualTo(objectMapper.readTree(json));
+        assertThat(cbor.length).isLessThan(json.length);
+        JsonNode batch = smileMapper.readTree(smile);
+        assertThat(batch.get("recipes").get(0)).isEqualTo(objectMapper.readTree(json));
+        assertThat(batch.get("missingIds").get(0).asLong()).isEqualTo(-1);
+    }
+
+    @Test
+    void should_SerializePages_When_CborAccepted() throws Exception {
+        createRecipe("Paged", 3);
+
+        byte[] cbor = mockMvc.perform(get("/api/recipes").param("servings", "41").param("size", "100")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = cborMapper.readTree(cbor);
+        assertThat(page.get("content")).isNotEmpty();
+        assertThat(cborMapper.treeToValue(page.get("content").get(0), RecipeResponseDTO.class).getServings()).isEqualTo(41);
+    }
+
+    @Test
+    void should_CompressLargeResponses_When_GzipAccepted() throws Exception {
+        Long id = createRecipe("Compressed", 150);
+        Long smallId = createRecipe("Plain", 1);
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<byte[]> large = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/" + id))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> small = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/" + smallId))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(large.statusCode()).isEqualTo(200);
+        assertThat(large.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(large.headers().firstValue(HttpHeaders.ETAG)).hasValue("W/\"0\"");
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    private Long createRecipe(String title, int ingredients) throws Exception {
+        String ingredientList = IntStream.range(0, ingredients)
+                .mapToObj(i -> "\"Ingredient " + i + "\"")
+                .collect(Collectors.joining(","));
+        String response = mockMvc.perform(post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted(title, ingredientList, "Simmer and stir. ".repeat(ingredients))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, RecipeResponseDTO.class).getId();
+    }
+}
@@ -0,0 +1,106 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Tiny chunks exercise the chunking, but multiply the statements past a budget sized for the default of 500.
+@SpringBootTest(properties = {"recipe.bulk-delete.chunk-size=3", "recipe.statement-budget.mode=log"})
+@AutoConfigureMockMvc
+class RecipeControllerBulkDeleteTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[\"%s\",\"Salt\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":%d}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void should_ReportDeletedAndMissingIds_When_DeletingByIds() throws Exception {
+        List<Long> ids = createRecipes(5, "Sorrel", 21);
+        mockMvc.perform(get("/api/recipes/{id}", ids.get(0))).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[%d,%d,%d,%d,%d,-1,%d]}".formatted(
+                                ids.get(4), ids.get(0), ids.get(1), ids.get(0), ids.get(2), ids.get(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds", contains(
+                        ids.get(4).intValue(), ids.get(0).intValue(), ids.get(1).intValue(),
+                        ids.get(2).intValue(), ids.get(3).intValue())))
+                .andExpect(jsonPath("$.missingIds", contains(-1)));
+
+        assertThat(recipeRepository.findAllById(ids)).isEmpty();
+        assertThat(recipeRepository.findIngredientPairsByIdIn(ids)).isEmpty();
+        mockMvc.perform(get("/api/recipes/{id}", ids.get(0))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_DeleteEveryMatch_When_FilterSpansSeveralChunks() throws Exception {
+        List<Long> doomed = createRecipes(7, "Lovage", 22);
+        List<Long> kept = createRecipes(2, "Chervil", 22);
+
+        mockMvc.perform(get("/api/recipes").param("includeIngredients", "Lovage"))
+                .andExpect(jsonPath("$.totalElements").value(7));
+
+        mockMvc.perform(post("/api/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"servings\":22,\"includeIngredients\":[\"Lovage\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedIds", hasSize(7)))
+                .andExpect(jsonPath("$.missingIds", empty()));
+
+        assertThat(recipeRepository.findAllById(doomed)).isEmpty();
+        assertThat(recipeRepository.findAllById(kept)).hasSize(2);
+        mockMvc.perform(get("/api/recipes").param("includeIngredients", "Lovage"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void should_RejectSelection_When_NoneOrBothGiven() throws Exception {
+        mockMvc.perform(post("/api/recipes/bulk-delete").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.selectionValid").exists());
+
+        mockMvc.perform(post("/api/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"vegetarian\":true}"))
+                .andExpect(status().isBadRequest());
+
+        String tooMany = IntStream.rangeClosed(1, 10_001).mapToObj(String::valueOf).collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+        mockMvc.perform(post("/api/recipes/bulk-delete").contentType(MediaType.APPLICATION_JSON).content(tooMany))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> createRecipes(int count, String ingredient, int servings) throws Exception {
+        String body = IntStream.range(0, count)
+                .mapToObj(i -> RECIPE_JSON.formatted(ingredient + " " + i, ingredient, servings))
+                .collect(Collectors.joining(",", "[", "]"));
+        String response = mockMvc.perform(post("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Arrays.stream(objectMapper.readValue(response, RecipeResponseDTO[].class)).map(RecipeResponseDTO::getId).toList();
+    }
+}
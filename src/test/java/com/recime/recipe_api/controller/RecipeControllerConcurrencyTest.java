@@ -0,0 +1,92 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Far more request threads than connections, so any request that waits for another one's cache load while
+// holding a connection exhausts the pool.
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=10000"
+})
+@AutoConfigureMockMvc
+class RecipeControllerConcurrencyTest {
+
+    private static final int RECIPES = 400;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_NotExhaustPool_When_ByIdConditionalAndBatchReadsShareCacheLoads() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < RECIPES; from += 50) {
+            List<RecipeCreateDTO> recipes = IntStream.range(from, from + 50)
+                    .mapToObj(i -> new RecipeCreateDTO("Concurrent " + i, "d", List.of("Caraway"), "i", true, 53))
+                    .toList();
+            String created = mockMvc.perform(post("/api/recipes/bulk")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(recipes)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            Stream.of(objectMapper.readValue(created, RecipeResponseDTO[].class)).map(RecipeResponseDTO::getId).forEach(ids::add);
+        }
+
+        List<RequestBuilder> requests = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            requests.add(get("/api/recipes/{id}", id));
+            requests.add(get("/api/recipes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"99\""));
+            requests.add(get("/api/recipes/batch").param("ids",
+                    String.valueOf(id), String.valueOf(ids.get((i + 1) % ids.size())), String.valueOf(ids.get((i + 2) % ids.size()))));
+            requests.add(get("/api/recipes").param("servings", "53").param("count", "CACHED"));
+        }
+        Collections.shuffle(requests, new Random(7));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        Map<Integer, Integer> statuses = new HashMap<>();
+        try {
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (RequestBuilder request : requests) {
+                responses.add(executor.submit(() -> mockMvc.perform(request).andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> response : responses) {
+                statuses.merge(response.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(statuses).containsExactly(entry(200, requests.size()));
+    }
+}
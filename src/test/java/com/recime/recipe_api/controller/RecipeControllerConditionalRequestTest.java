@@ -0,0 +1,169 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class RecipeControllerConditionalRequestTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[\"Thyme\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":%d}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void should_AnswerNotModifiedFromVersionOnly_When_ETagMatches() throws Exception {
+        Long id = createRecipe("Conditional", 3);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/recipes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        mockMvc.perform(get("/api/recipes/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.title").value("Conditional"));
+    }
+
+    @Test
+    void should_RejectUpdate_When_IfMatchIsStale() throws Exception {
+        Long id = createRecipe("Versioned", 5);
+
+        mockMvc.perform(put("/api/recipes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Versioned v1", 5)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(put("/api/recipes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Lost update", 5)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/recipes/{id}", id))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("Versioned v1"));
+    }
+
+    @Test
+    void should_PatchGivenFieldsOnly_When_IfMatchIsCurrent() throws Exception {
+        Long id = createRecipe("Patched", 2);
+
+        mockMvc.perform(patch("/api/recipes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"ingredients\":[\"Thyme\",\"Sage\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.servings").value(2))
+                .andExpect(jsonPath("$.ingredients").value(contains("Thyme", "Sage")));
+
+        mockMvc.perform(patch("/api/recipes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Lost patch\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/recipes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\" \",\"ingredients\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/recipes/{id}", id))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.ingredients.length()").value(2));
+    }
+
+    @Test
+    void should_SendWeakETags_When_ClientAcceptsGzip() throws Exception {
+        Long id = createRecipe("Weak", 6);
+
+        mockMvc.perform(get("/api/recipes/{id}", id).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
+        mockMvc.perform(get("/api/recipes/{id}", id)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/recipes/{id}", id)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Weak v1", 6)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""));
+    }
+
+    @Test
+    void should_ChangeListETag_When_RecipeOnPageUpdated() throws Exception {
+        Long id = createRecipe("Listed", 11);
+        String firstETag = mockMvc.perform(get("/api/recipes").param("servings", "11"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/recipes").param("servings", "11").header(HttpHeaders.IF_NONE_MATCH, firstETag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/recipes/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Listed v1", 11)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/recipes").param("servings", "11").header(HttpHeaders.IF_NONE_MATCH, firstETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(firstETag)));
+    }
+
+    private Long createRecipe(String title, int servings) throws Exception {
+        String response = mockMvc.perform(post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted(title, servings)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, RecipeResponseDTO.class).getId();
+    }
+}
@@ -0,0 +1,93 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A fetch size smaller than the export makes the cursors fetch several times.
+@SpringBootTest(properties = "recipe.export.fetch-size=2")
+@AutoConfigureMockMvc
+class RecipeControllerExportTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"%s\",\"ingredients\":[\"%s\",\"Salt\"],\"instructions\":\"i\",\"vegetarian\":%b,\"servings\":31}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_StreamEveryMatchAsNdjson_When_Filtered() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(createRecipe("Export " + i, "d", i % 2 == 0 ? "Mace" : "Nutmeg", true));
+        }
+        createRecipe("Other", "d", "Mace", false);
+
+        String body = mockMvc.perform(get("/api/recipes/export")
+                        .param("servings", "31")
+                        .param("vegetarian", "true")
+                        .param("excludeIngredients", "Nutmeg"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.ndjson\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<RecipeResponseDTO> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readValue(line, RecipeResponseDTO.class));
+        }
+        assertThat(body).endsWith("\n");
+        assertThat(exported).extracting(RecipeResponseDTO::getId).containsExactly(ids.get(0), ids.get(2), ids.get(4));
+        assertThat(exported).allSatisfy(recipe -> {
+            assertThat(recipe.getIngredients()).containsExactlyInAnyOrder("Mace", "Salt");
+            assertThat(recipe.getVersion()).isZero();
+        });
+    }
+
+    @Test
+    void should_QuoteFields_When_ExportingCsv() throws Exception {
+        Long id = createRecipe("Mole, \\\"negro\\\"", "two\\nlines", "Ancho", false);
+
+        String body = mockMvc.perform(get("/api/recipes/export")
+                        .param("format", "CSV")
+                        .param("includeIngredients", "Ancho"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body).isEqualTo("id,title,description,ingredients,instructions,vegetarian,servings,version\r\n"
+                + id + ",\"Mole, \"\"negro\"\"\",\"two\nlines\",Ancho;Salt,i,false,31,0\r\n");
+    }
+
+    @Test
+    void should_RejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/recipes/export").param("format", "XML"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long createRecipe(String title, String description, String ingredient, boolean vegetarian) throws Exception {
+        String response = mockMvc.perform(post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted(title, description, ingredient, vegetarian)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, RecipeResponseDTO.class).getId();
+    }
+}
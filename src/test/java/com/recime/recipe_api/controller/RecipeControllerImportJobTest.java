@@ -0,0 +1,74 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.ImportJobDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "recipe.import.chunk-size=2")
+@AutoConfigureMockMvc
+class RecipeControllerImportJobTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[\"Fennel\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":47}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_AcceptJobAndImportInBackground_When_BulkJobSubmitted() throws Exception {
+        String payload = "[" + String.join(",", RECIPE_JSON.formatted("Job 1"), RECIPE_JSON.formatted(""),
+                RECIPE_JSON.formatted("Job 3")) + "]";
+
+        MvcResult submitted = mockMvc.perform(post("/api/recipes/bulk/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.totalRecords").value(3))
+                .andReturn();
+        String location = submitted.getResponse().getHeader(HttpHeaders.LOCATION);
+        UUID id = objectMapper.readValue(submitted.getResponse().getContentAsString(), ImportJobDTO.class).getId();
+        assertThat(location).endsWith("/api/recipes/bulk/jobs/" + id);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> job(id).getStatus() == ImportJobDTO.Status.COMPLETED);
+        ImportJobDTO job = job(id);
+
+        assertThat(job.getAcceptedRecords()).isEqualTo(2);
+        assertThat(job.getRejectedRecords()).isEqualTo(1);
+        assertThat(job.getChunks()).hasSize(2);
+        assertThat(job.getChunks().get(0).getRecordErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getLine()).isEqualTo(2));
+        mockMvc.perform(get("/api/recipes").param("servings", "47"))
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void should_ReturnNotFound_When_JobIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/recipes/bulk/jobs/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private ImportJobDTO job(UUID id) throws Exception {
+        String response = mockMvc.perform(get("/api/recipes/bulk/jobs/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ImportJobDTO.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecipeControllerSparseFieldsTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[\"Sumac\",\"Salt\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":%d}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_ReturnOnlyRequestedFields_When_FieldsGiven() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(createRecipe("Sparse " + i, 23));
+        }
+
+        String body = mockMvc.perform(get("/api/recipes")
+                        .param("servings", "23")
+                        .param("fields", "title,vegetarian")
+                        .param("fields", "ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode content = objectMapper.readTree(body).get("content");
+        assertThat(content).hasSize(3);
+        assertThat(content.get(0).get("id").asLong()).isEqualTo(ids.get(0));
+        assertThat(content).allSatisfy(recipe -> {
+            assertThat(recipe.fieldNames()).toIterable()
+                    .containsExactly("id", "title", "ingredients", "vegetarian", "version");
+            assertThat(recipe.get("ingredients")).extracting(JsonNode::asText).containsExactlyInAnyOrder("Sumac", "Salt");
+        });
+    }
+
+    @Test
+    void should_ChangeETag_When_FieldsDiffer() throws Exception {
+        createRecipe("Tagged", 24);
+
+        String full = mockMvc.perform(get("/api/recipes").param("servings", "24"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String sparse = mockMvc.perform(get("/api/recipes").param("servings", "24").param("fields", "title"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(sparse).isNotEqualTo(full);
+    }
+
+    @Test
+    void should_ReturnBadRequest_When_FieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("fields", "title,calories"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("calories")));
+    }
+
+    private Long createRecipe(String title, int servings) throws Exception {
+        String response = mockMvc.perform(post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted(title, servings)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, RecipeResponseDTO.class).getId();
+    }
+}
@@ -0,0 +1,263 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.metrics.StatementBudget;
+import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.repository.RecipeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs every route with {@code recipe.statement-budget.mode=fail} (set in the test properties), so a request that
+ * goes over its {@link StatementBudget} fails here instead of in production.
+ */
+@SpringBootTest(properties = "recipe.index.fulltext.enabled=true")
+@AutoConfigureMockMvc
+@Import(RecipeControllerStatementBudgetTest.LazyIngredientsController.class)
+class RecipeControllerStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String created = mockMvc.perform(post("/api/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(recipesJson(30, "Budget")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        ids = new ArrayList<>();
+        objectMapper.readTree(created).forEach(recipe -> ids.add(recipe.get("id").asLong()));
+    }
+
+    @Test
+    void should_DeclareBudget_When_MethodHandlesRequests() {
+        Map<String, Integer> budgets = Arrays.stream(RecipeController.class.getDeclaredMethods())
+                .filter(method -> AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class))
+                .collect(Collectors.toMap(Method::getName, method -> {
+                    StatementBudget budget = method.getAnnotation(StatementBudget.class);
+                    assertThat(budget).as(method.getName()).isNotNull();
+                    return budget.value();
+                }));
+
+        assertThat(budgets).containsExactlyInAnyOrderEntriesOf(Map.ofEntries(
+                Map.entry("createRecipe", 4),
+                Map.entry("createMoreThanOneRecipe", 3),
+                Map.entry("importRecipes", 3),
+                Map.entry("submitImportJob", 0),
+                Map.entry("getImportJob", 0),
+                Map.entry("getRecipes", 3),
+                Map.entry("scrollRecipes", 2),
+                Map.entry("exportRecipes", 2),
+                Map.entry("getRecipesByIds", 2),
+                Map.entry("getRecipeById", 3),
+                Map.entry("updateRecipe", 5),
+                Map.entry("patchRecipe", 5),
+                Map.entry("deleteRecipes", 4),
+                Map.entry("deleteRecipe", 5)));
+    }
+
+    @Test
+    void should_StayWithinBudget_When_ReadingRecipes() throws Exception {
+        performWithinBudget("GET", "/api/recipes", get("/api/recipes").param("servings", "3").param("size", "20"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes", get("/api/recipes")
+                        .param("includeIngredients", "Budget 1")
+                        .param("excludeIngredients", "Nothing")
+                        .param("instruction", "stir")
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes", get("/api/recipes").param("q", "Budget").param("size", "20"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/scroll",
+                        get("/api/recipes/scroll").param("vegetarian", "true").param("size", "20"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/export",
+                        get("/api/recipes/export").param("includeIngredients", "Budget 1"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/export", get("/api/recipes/export").param("format", "CSV"))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/batch", get("/api/recipes/batch")
+                        .param("ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/{id}", get("/api/recipes/{id}", ids.get(0)))
+                .andExpect(status().isOk());
+        performWithinBudget("GET", "/api/recipes/{id}",
+                        get("/api/recipes/{id}", ids.get(1)).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+        performWithinBudget("GET", "/api/recipes/{id}",
+                        get("/api/recipes/{id}", ids.get(2)).header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_StayWithinBudget_When_WritingRecipes() throws Exception {
+        performWithinBudget("POST", "/api/recipes", post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(recipeJson("Single", 4)))
+                .andExpect(status().isCreated());
+        performWithinBudget("PUT", "/api/recipes/{id}", put("/api/recipes/{id}", ids.get(0))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(recipeJson("Updated", 5)))
+                .andExpect(status().isOk());
+        performWithinBudget("PATCH", "/api/recipes/{id}", patch("/api/recipes/{id}", ids.get(2))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"servings\":6,\"ingredients\":[\"Budget 0\",\"Budget 2\",\"Sage\"]}"))
+                .andExpect(status().isOk());
+        performWithinBudget("DELETE", "/api/recipes/{id}", delete("/api/recipes/{id}", ids.get(1)))
+                .andExpect(status().isNoContent());
+        performWithinBudget("POST", "/api/recipes/bulk-delete", post("/api/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[%d,%d,-1]}".formatted(ids.get(3), ids.get(4))))
+                .andExpect(status().isOk());
+        performWithinBudget("POST", "/api/recipes/bulk-delete", post("/api/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"includeIngredients\":[\"Budget 1\"]}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_ScaleBudgetWithPayload_When_CreatingInBulk() throws Exception {
+        performWithinBudget("POST", "/api/recipes/bulk", post("/api/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(recipesJson(500, "Bulk")))
+                .andExpect(status().isCreated());
+        performWithinBudget("POST", "/api/recipes/stream", post("/api/recipes/stream")
+                        .contentType("application/x-ndjson")
+                        .content(IntStream.range(0, 1200)
+                                .mapToObj(i -> recipeJson("Imported", 3))
+                                .collect(Collectors.joining("\n"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+    }
+
+    @Test
+    void should_FailWithStatementShapes_When_HandlerExceedsBudget() throws Exception {
+        mockMvc.perform(get("/test/lazy-ingredients"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Internal Server Error"))
+                .andExpect(jsonPath("$.message").value(containsString(
+                        "GET /test/lazy-ingredients issued 22 SQL statements, budget is 1:")))
+                .andExpect(jsonPath("$.message").value(containsString(
+                        "20x select i1_0.recipe_id,i1_0.ingredient from recipe_ingredients i1_0 where i1_0.recipe_id=?")));
+    }
+
+    @Test
+    void should_ReportWithoutBuffering_When_StreamedBodyExceedsBudget() throws Exception {
+        Counter exceeded = exceededCounter("GET", "/test/lazy-ingredients/stream");
+        double before = exceeded.count();
+
+        String body = mockMvc.perform(get("/test/lazy-ingredients/stream"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines()).hasSize(20);
+        assertThat(exceeded.count()).isEqualTo(before + 1);
+    }
+
+    /**
+     * Performs the request and asserts that {@code recipe.statement.budget.exceeded} did not move for its route. Fail
+     * mode can only reject responses with a body produced by the handler, so this also covers bodiless responses such
+     * as {@code 204} and {@code 304} and bodies written straight to the response.
+     */
+    private ResultActions performWithinBudget(String method, String uri, MockHttpServletRequestBuilder request)
+            throws Exception {
+        Counter exceeded = exceededCounter(method, uri);
+        double before = exceeded.count();
+
+        ResultActions result = mockMvc.perform(request);
+
+        assertThat(exceeded.count()).as("%s %s went over its statement budget", method, uri).isEqualTo(before);
+        return result;
+    }
+
+    private Counter exceededCounter(String method, String uri) {
+        return meterRegistry.counter("recipe.statement.budget.exceeded", "method", method, "uri", uri);
+    }
+
+    private static String recipeJson(String title, int ingredients) {
+        StringJoiner list = new StringJoiner(",");
+        IntStream.range(0, ingredients).forEach(i -> list.add("\"" + title + " " + i + "\""));
+        return "{\"title\":\"" + title + "\",\"description\":\"d\",\"ingredients\":[" + list
+                + "],\"instructions\":\"stir well\",\"vegetarian\":true,\"servings\":3}";
+    }
+
+    private static String recipesJson(int count, String title) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> recipeJson(title, 3))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    @RestController
+    static class LazyIngredientsController {
+
+        private final RecipeRepository recipeRepository;
+
+        LazyIngredientsController(RecipeRepository recipeRepository) {
+            this.recipeRepository = recipeRepository;
+        }
+
+        @GetMapping("/test/lazy-ingredients")
+        @StatementBudget(1)
+        @Transactional(readOnly = true)
+        List<List<String>> lazyIngredients() {
+            return recipeRepository.findAll(PageRequest.of(0, 20)).stream()
+                    .map(Recipe::getIngredients)
+                    .map(ArrayList::new)
+                    .collect(Collectors.toList());
+        }
+
+        @GetMapping("/test/lazy-ingredients/stream")
+        @StatementBudget(1)
+        @Transactional(readOnly = true)
+        void streamLazyIngredients(HttpServletResponse response) throws IOException {
+            for (Recipe recipe : recipeRepository.findAll(PageRequest.of(0, 20))) {
+                response.getWriter().println(recipe.getIngredients());
+                response.flushBuffer();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.recime.recipe_api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("virtual")
+class RecipeControllerVirtualProfileTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"%s\",\"description\":\"d\",\"ingredients\":[\"Sage\",\"Butter\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":2}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_ServeRecipeLifecycle_When_OpenInViewIsDisabled() throws Exception {
+        String created = mockMvc.perform(post("/api/recipes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Sage butter")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, RecipeResponseDTO.class).getId();
+
+        mockMvc.perform(get("/api/recipes/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingredients.length()").value(2));
+
+        mockMvc.perform(put("/api/recipes/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RECIPE_JSON.formatted("Brown sage butter")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(get("/api/recipes/batch").param("ids", id.toString(), "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes[0].title").value("Brown sage butter"))
+                .andExpect(jsonPath("$.missingIds[0]").value(-1));
+
+        mockMvc.perform(delete("/api/recipes/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/recipes/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,144 @@
+package com.recime.recipe_api.index;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RecipeBitmapIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeBitmapIndex recipeBitmapIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(recipeRepository.streamIndexedAttributes()).thenReturn(Stream.of(
+                new Object[]{1L, true, 2},
+                new Object[]{2L, false, 4},
+                new Object[]{3L, true, 4},
+                new Object[]{4L, true, null}
+        ));
+        when(recipeRepository.streamIngredientPairs()).thenReturn(Stream.of(
+                new Object[]{1L, "Tomato"},
+                new Object[]{1L, "Pasta"},
+                new Object[]{2L, "Chicken"},
+                new Object[]{2L, "Tomato"},
+                new Object[]{3L, "Tomato"},
+                new Object[]{3L, "Onion"},
+                new Object[]{4L, "Rice"}
+        ));
+
+        recipeBitmapIndex = new RecipeBitmapIndex(recipeRepository, transactionManager, true);
+        recipeBitmapIndex.rebuild();
+    }
+
+    @Test
+    void should_NotServeQueries_When_Disabled() {
+        RecipeBitmapIndex disabled = new RecipeBitmapIndex(recipeRepository, transactionManager, false);
+        disabled.rebuild();
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.findIds(true, null, null, null, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void should_ReturnAllIds_When_NoFiltersProvided() {
+        Page<Long> result = recipeBitmapIndex.findIds(null, null, null, null, PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(result.getContent()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(result.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void should_IntersectBitmaps_When_AllFiltersCombined() {
+        Page<Long> result = recipeBitmapIndex.findIds(
+                true, 4, List.of("Tomato"), List.of("Chicken"), PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(result.getContent()).containsExactly(3L);
+    }
+
+    @Test
+    void should_ExcludeIngredients_When_ExcludeFilterProvided() {
+        Page<Long> result = recipeBitmapIndex.findIds(
+                null, null, null, List.of("Tomato", "Unknown"), PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(result.getContent()).containsExactly(4L);
+    }
+
+    @Test
+    void should_ReturnEmptyPage_When_IncludedIngredientIsUnknown() {
+        Page<Long> result = recipeBitmapIndex.findIds(
+                null, null, List.of("Tomato", "Saffron"), null, PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+    }
+
+    @Test
+    void should_PageInIdOrder_When_SortedDescending() {
+        Page<Long> result = recipeBitmapIndex.findIds(
+                null, null, null, null, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"))).orElseThrow();
+
+        assertThat(result.getContent()).containsExactly(2L, 1L);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void should_FallBack_When_SortedByOtherProperty() {
+        assertThat(recipeBitmapIndex.findIds(null, null, null, null, PageRequest.of(0, 10, Sort.by("title"))))
+                .isEmpty();
+    }
+
+    @Test
+    void should_ReflectChanges_When_RecipesCreatedUpdatedAndDeleted() {
+        recipeBitmapIndex.onRecipeChanged(RecipeChangedEvent.created(RecipeResponseDTO.builder()
+                .id(5L).ingredients(List.of("Tomato", "Basil")).vegetarian(true).servings(2).build()));
+        recipeBitmapIndex.onRecipeChanged(RecipeChangedEvent.updated(RecipeResponseDTO.builder()
+                .id(1L).ingredients(List.of("Pasta")).vegetarian(false).servings(2).build(), List.of("Tomato", "Pasta")));
+        recipeBitmapIndex.onRecipeChanged(RecipeChangedEvent.deleted(3L, List.of("Tomato", "Onion")));
+
+        assertThat(recipeBitmapIndex.findIds(true, null, List.of("Tomato"), null, PageRequest.of(0, 10))
+                .orElseThrow().getContent()).containsExactly(5L);
+        assertThat(recipeBitmapIndex.findIds(null, 2, null, null, PageRequest.of(0, 10))
+                .orElseThrow().getContent()).containsExactly(1L, 5L);
+        assertThat(recipeBitmapIndex.findIds(null, 4, null, null, PageRequest.of(0, 10))
+                .orElseThrow().getContent()).containsExactly(2L);
+    }
+
+    @Test
+    void should_ReplayChanges_When_CommittedDuringRebuild() {
+        when(recipeRepository.streamIndexedAttributes()).thenReturn(Stream.<Object[]>of(new Object[]{4L, true, null}));
+        when(recipeRepository.streamIngredientPairs()).thenAnswer(invocation -> {
+            recipeBitmapIndex.onRecipeChanged(RecipeChangedEvent.updated(RecipeResponseDTO.builder()
+                    .id(4L).ingredients(List.of("Saffron")).vegetarian(true).build(), List.of("Rice")));
+            return Stream.<Object[]>of(new Object[]{4L, "Rice"});
+        });
+
+        recipeBitmapIndex.rebuild();
+
+        assertThat(recipeBitmapIndex.findIds(null, null, List.of("Saffron"), null, PageRequest.of(0, 10))
+                .orElseThrow().getContent()).containsExactly(4L);
+        assertThat(recipeBitmapIndex.findIds(null, null, List.of("Rice"), null, PageRequest.of(0, 10))
+                .orElseThrow().getContent()).isEmpty();
+    }
+}
@@ -0,0 +1,187 @@
+package com.recime.recipe_api.index;
+
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
+import com.recime.recipe_api.exception.InvalidSearchQueryException;
+import com.recime.recipe_api.exception.SearchUnavailableException;
+import com.recime.recipe_api.repository.RecipeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+class RecipeFullTextIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeFullTextIndex recipeFullTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(recipeRepository.streamSearchableAttributesOrderById()).thenReturn(Stream.of(
+                new Object[]{1L, "Tomato Soup", "A warm soup", "Simmer the tomatoes for twenty minutes.", true, 4},
+                new Object[]{2L, "Chicken Curry", "Spicy curry with tomato", "Brown the chicken, add tomato and simmer.", false, 4},
+                new Object[]{3L, "Pasta", "Quick dinner", "Boil the pasta. Serve with tomato soup on the side.", true, 2}
+        ));
+        when(recipeRepository.streamIngredientPairsOrderById()).thenReturn(Stream.of(
+                new Object[]{1L, "Tomato"},
+                new Object[]{2L, "Chicken"},
+                new Object[]{2L, "Tomato"},
+                new Object[]{3L, "Pasta"}
+        ));
+
+        recipeFullTextIndex = new RecipeFullTextIndex(recipeRepository, transactionManager, true, 100, Duration.ofMillis(10));
+        recipeFullTextIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        recipeFullTextIndex.close();
+    }
+
+    @Test
+    void should_RankTitleMatchesFirst_When_SearchingKeyword() {
+        Page<Long> result = recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).first().isEqualTo(1L);
+    }
+
+    @Test
+    void should_MatchAllTerms_When_QueryHasSeveralWords() {
+        Page<Long> result = recipeFullTextIndex.search("simmer chicken", null, null, null, null, null, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(2L);
+    }
+
+    @Test
+    void should_MatchExactPhrase_When_QueryIsQuoted() {
+        Page<Long> result = recipeFullTextIndex.search("\"tomato soup\"", null, null, null, null, null, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void should_ApplyFilters_When_CombinedWithQuery() {
+        Page<Long> result = recipeFullTextIndex.search(
+                "tomato", true, 4, List.of("Tomato"), List.of("Chicken"), "simmer", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void should_ReturnRequestedPage_When_Paging() {
+        Page<Long> firstPage = recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(0, 2));
+        Page<Long> secondPage = recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(1, 2));
+
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(secondPage.getContent()).hasSize(1).doesNotContainAnyElementsOf(firstPage.getContent());
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void should_ReflectChanges_When_RecipesCreatedUpdatedAndDeleted() {
+        recipeFullTextIndex.onRecipeChanged(RecipeChangedEvent.created(RecipeResponseDTO.builder()
+                .id(4L).title("Gazpacho").description("Cold tomato soup").instructions("Blend.").build()));
+        recipeFullTextIndex.onRecipeChanged(RecipeChangedEvent.updated(RecipeResponseDTO.builder()
+                .id(1L).title("Pumpkin Soup").description("A warm soup").instructions("Roast the pumpkin.").build(), List.of("Tomato")));
+        recipeFullTextIndex.onRecipeChanged(RecipeChangedEvent.deleted(3L, List.of("Pasta")));
+
+        await().untilAsserted(() -> {
+            assertThat(recipeFullTextIndex.search("\"tomato soup\"", null, null, null, null, null, PageRequest.of(0, 10))
+                    .getContent()).containsExactly(4L);
+            assertThat(recipeFullTextIndex.search("pumpkin", null, null, null, null, null, PageRequest.of(0, 10))
+                    .getContent()).containsExactly(1L);
+        });
+    }
+
+    @Test
+    void should_KeepServingLastSnapshot_When_RefreshIntervalHasNotElapsed() throws IOException {
+        RecipeFullTextIndex slowRefresh = new RecipeFullTextIndex(recipeRepository, transactionManager, true, 100,
+                Duration.ofHours(1));
+        when(recipeRepository.streamSearchableAttributesOrderById()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, "Tomato Soup", "A warm soup", "Simmer.", true, 4}));
+        when(recipeRepository.streamIngredientPairsOrderById()).thenReturn(Stream.<Object[]>of(new Object[]{1L, "Tomato"}));
+        slowRefresh.rebuild();
+
+        slowRefresh.onRecipeChanged(RecipeChangedEvent.deleted(1L, List.of("Tomato")));
+
+        assertThat(slowRefresh.search("tomato", null, null, null, null, null, PageRequest.of(0, 10))
+                .getContent()).containsExactly(1L);
+        slowRefresh.close();
+    }
+
+    @Test
+    void should_ThrowException_When_PageEndsBeyondMaxResultWindow() {
+        assertThat(recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(9, 10))
+                .getContent()).isEmpty();
+        assertThatThrownBy(() -> recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(10, 10)))
+                .isInstanceOf(InvalidSearchQueryException.class)
+                .hasMessageContaining("100");
+    }
+
+    @Test
+    void should_ThrowException_When_QueryIsMalformed() {
+        assertThatThrownBy(() -> recipeFullTextIndex.search("\"tomato", null, null, null, null, null, PageRequest.of(0, 10)))
+                .isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void should_ThrowException_When_IndexIsDisabled() throws IOException {
+        RecipeFullTextIndex disabled = new RecipeFullTextIndex(recipeRepository, transactionManager, false, 100, Duration.ofMillis(10));
+        disabled.rebuild();
+
+        assertThatThrownBy(() -> disabled.search("tomato", null, null, null, null, null, PageRequest.of(0, 10)))
+                .isInstanceOf(SearchUnavailableException.class);
+        disabled.close();
+    }
+
+    @Test
+    void should_MatchInstructionAsPlainText_When_KeywordContainsQuerySyntax() {
+        Page<Long> result = recipeFullTextIndex.search(
+                "tomato", null, null, null, null, "simmer AND", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(recipeFullTextIndex.search("tomato", null, null, null, null, "Boil the pasta.", PageRequest.of(0, 10))
+                .getContent()).containsExactly(3L);
+    }
+
+    @Test
+    void should_ApplyChanges_When_CommittedDuringRebuild() {
+        when(recipeRepository.streamSearchableAttributesOrderById()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, "Tomato Soup", "A warm soup", "Simmer.", true, 4}));
+        when(recipeRepository.streamIngredientPairsOrderById()).thenAnswer(invocation -> {
+            recipeFullTextIndex.onRecipeChanged(RecipeChangedEvent.updated(RecipeResponseDTO.builder()
+                    .id(1L).title("Pumpkin Soup").description("A warm soup").instructions("Roast.").build(), List.of("Tomato")));
+            return Stream.<Object[]>of(new Object[]{1L, "Tomato"});
+        });
+
+        recipeFullTextIndex.rebuild();
+
+        await().untilAsserted(() -> {
+            assertThat(recipeFullTextIndex.search("pumpkin", null, null, null, null, null, PageRequest.of(0, 10))
+                    .getContent()).containsExactly(1L);
+            assertThat(recipeFullTextIndex.search("tomato", null, null, null, null, null, PageRequest.of(0, 10))
+                    .getContent()).isEmpty();
+        });
+    }
+}
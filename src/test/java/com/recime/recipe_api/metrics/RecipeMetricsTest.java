@@ -0,0 +1,82 @@
+package com.recime.recipe_api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RecipeMetricsTest {
+
+    private static final String RECIPE_JSON =
+            "{\"title\":\"Metered\",\"description\":\"d\",\"ingredients\":[\"Sumac\",\"Onion\"],\"instructions\":\"i\",\"vegetarian\":true,\"servings\":2}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void should_TagServiceTimerWithActiveFilters_When_SearchingRecipes() throws Exception {
+        mockMvc.perform(post("/api/recipes").contentType(MediaType.APPLICATION_JSON).content(RECIPE_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("vegetarian", "true")
+                        .param("includeIngredients", "Sumac", "Onion", "Salt")
+                        .param("servings", "97"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("recipe.service")
+                .tag("method", "getRecipesByFilters")
+                .tag("filters", "vegetarian+servings+include")
+                .tag("include.count", "3-4")
+                .tag("exclude.count", "0")
+                .tag("exception", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipe.service")
+                .tag("method", "createRecipe")
+                .tag("filters", "none")
+                .timer().count()).isPositive();
+    }
+
+    @Test
+    void should_RecordStatementsPerRequestAndRowsPerRepositoryCall() throws Exception {
+        mockMvc.perform(get("/api/recipes/scroll").param("servings", "98"))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("recipe.request.statements")
+                .tag("method", "GET")
+                .tag("uri", "/api/recipes/scroll")
+                .summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get("recipe.repository.rows")
+                .tag("repository", "RecipeRepository")
+                .summaries()).isNotEmpty();
+    }
+
+    @Test
+    void should_ExposeRecipeAndPoolMetrics_When_PrometheusScraped() throws Exception {
+        mockMvc.perform(get("/api/recipes").param("instruction", "stir"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("recipe_service_seconds_count{")))
+                .andExpect(content().string(containsString("filters=\"instruction\"")))
+                .andExpect(content().string(containsString("recipe_request_statements_count{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_count{")));
+    }
+}
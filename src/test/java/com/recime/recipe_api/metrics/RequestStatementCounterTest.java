@@ -0,0 +1,41 @@
+package com.recime.recipe_api.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestStatementCounterTest {
+
+    @Test
+    void should_RunConfiguredInspector_When_CountingStatements() {
+        RequestStatementCounter counter = new RequestStatementCounter();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.STATEMENT_INSPECTOR, CommentingStatementInspector.class.getName());
+
+        counter.customize(properties);
+        long before = counter.current();
+
+        assertThat(properties.get(AvailableSettings.STATEMENT_INSPECTOR)).isSameAs(counter);
+        assertThat(counter.inspect("select 1")).isEqualTo("/* inspected */ select 1");
+        assertThat(counter.current() - before).isEqualTo(1);
+    }
+
+    @Test
+    void should_CollapseParameterLists_When_ShapingStatements() {
+        assertThat(RequestStatementCounter.shapeOf("select r.id\n  from recipes r where r.id in (?, ?,?) and r.servings=?"))
+                .isEqualTo("select r.id from recipes r where r.id in (?, ...) and r.servings=?");
+    }
+
+    public static class CommentingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            return "/* inspected */ " + sql;
+        }
+    }
+}
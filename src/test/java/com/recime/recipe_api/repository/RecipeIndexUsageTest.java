@@ -0,0 +1,140 @@
+package com.recime.recipe_api.repository;
+
+import com.recime.recipe_api.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "recipe.index.fulltext.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.recime.recipe_api.repository.CapturingStatementInspector"
+})
+class RecipeIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14.7");
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("select count(*) from recipes", Long.class) == 0) {
+            // Selective predicates over enough rows that walking the primary key in id order and filtering is
+            // dearer than the index made for each predicate, so the planner picks it with its default settings.
+            jdbcTemplate.execute("""
+                    insert into recipes (id, title, description, instructions, vegetarian, servings)
+                    select n, 'Recipe ' || n, 'Description ' || n,
+                           'Step ' || n || case when n % 10000 = 0 then ': crush the saffron threads.' else ': boil water and stir.' end,
+                           n % 50 = 0, (n / 50) % 20 + 1
+                    from generate_series(1, 200000) n""");
+            jdbcTemplate.execute("""
+                    insert into recipe_ingredients (recipe_id, ingredient)
+                    select n, case when n % 10000 = 0 then 'Saffron' else 'Ingredient ' || (n % 500) end
+                    from generate_series(1, 200000) n
+                    union all
+                    select n, 'Salt' from generate_series(1, 200000) n""");
+            jdbcTemplate.execute("analyze recipes");
+            jdbcTemplate.execute("analyze recipe_ingredients");
+        }
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void should_UseCompositeIndex_When_FilteringByVegetarianAndServings() {
+        recipeService.getRecipesByFilters(true, 4, null, null, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(explainPageQuery("true", "4", "10")).containsPattern(scanOf("idx_recipes_vegetarian_servings_id"));
+    }
+
+    @Test
+    void should_UseIngredientIndex_When_FilteringByIncludedIngredient() {
+        recipeService.getRecipesByFilters(null, null, List.of("Saffron"), null, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(explainPageQuery("'Saffron'", "10")).containsPattern(scanOf("idx_recipe_ingredients_recipe_ingredient"));
+    }
+
+    @Test
+    void should_UseTrigramIndex_When_SearchingInstructions() {
+        recipeService.getRecipesByFilters(null, null, null, null, "saffron", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(explainPageQuery("'%saffron%'", "10")).containsPattern(scanOf("idx_recipes_instructions_trgm"));
+    }
+
+    @Test
+    void should_UseIngredientIndex_When_FetchingIngredientsForPage() {
+        recipeService.getRecipesByFilters(null, null, null, null, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        String fetchQuery = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("join recipe_ingredients"))
+                .findFirst()
+                .orElseThrow();
+        String arguments = java.util.stream.LongStream.rangeClosed(1, 10).mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        assertThat(explain(fetchQuery, arguments)).containsPattern(scanOf("idx_recipe_ingredients_recipe_ingredient"));
+    }
+
+    private static String scanOf(String index) {
+        return "(Index|Index Only|Bitmap Index) Scan (using|on) " + index + "\\b";
+    }
+
+    private String explainPageQuery(String... arguments) {
+        String pageQuery = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("from recipes") && !sql.contains("count(") && !sql.contains("join recipe_ingredients"))
+                .findFirst()
+                .orElseThrow();
+        return explain(pageQuery, String.join(",", arguments));
+    }
+
+    private String explain(String sql, String arguments) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("prepare filter_query as " + numbered);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("explain execute filter_query(" + arguments + ")")) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("deallocate filter_query");
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package com.recime.recipe_api.repository;
+
+import com.recime.recipe_api.service.RecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "recipe.index.fulltext.enabled=false",
+        "recipe.ingredients.storage=array",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.recime.recipe_api.repository.CapturingStatementInspector"
+})
+class RecipeIngredientTagsIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14.7");
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("select count(*) from recipes", Long.class) == 0) {
+            jdbcTemplate.execute("""
+                    insert into recipes (id, title, description, instructions, vegetarian, servings, ingredient_tags)
+                    select n, 'Recipe ' || n, 'Description ' || n, 'Boil water and stir.', n % 10 = 0, n % 12 + 1,
+                           array[case when n % 10000 = 0 then 'Saffron' else 'Ingredient ' || (n % 500) end, 'Salt']
+                    from generate_series(1, 200000) n""");
+            // The default sample misses an element this rare and prices it at half the least common one it kept,
+            // which makes walking the primary key look cheaper. Sampling every row gives Saffron its real frequency.
+            jdbcTemplate.execute("alter table recipes alter column ingredient_tags set statistics 1000");
+            jdbcTemplate.execute("analyze recipes");
+        }
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void should_UseGinIndex_When_FilteringByIncludedIngredients() {
+        recipeService.getRecipesByFilters(null, null, List.of("Saffron", "Salt"), null, null, PageRequest.of(0, 10, Sort.by("id")));
+
+        String pageQuery = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("from recipes") && sql.contains("ingredient_tags") && !sql.contains("count("))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(pageQuery).doesNotContain("recipe_ingredients");
+        assertThat(explain(pageQuery, new String[]{"Saffron", "Salt"}, 10)).containsPattern("Bitmap Index Scan on idx_recipes_ingredient_tags\\b");
+    }
+
+    @Test
+    void should_UseGinIndexAndSingleOverlap_When_FilteringByIncludedAndExcludedIngredients() {
+        recipeService.getRecipesByFilters(null, null, List.of("Saffron"), List.of("Ingredient 7", "Ingredient 9"), null,
+                PageRequest.of(0, 10, Sort.by("id")));
+
+        String pageQuery = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("from recipes") && sql.contains("ingredient_tags") && !sql.contains("count("))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(pageQuery).containsOnlyOnce("&&");
+        assertThat(explain(pageQuery, new String[]{"Saffron"}, new String[]{"Ingredient 7", "Ingredient 9"}, 10))
+                .containsPattern("Bitmap Index Scan on idx_recipes_ingredient_tags\\b");
+    }
+
+    private String explain(String sql, Object... arguments) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < arguments.length; i++) {
+                    if (arguments[i] instanceof String[] array) {
+                        statement.setArray(i + 1, connection.createArrayOf("varchar", array));
+                    } else {
+                        statement.setObject(i + 1, arguments[i]);
+                    }
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.recime.recipe_api.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.function.array.AbstractArrayIntersectsFunction;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.type.spi.TypeConfiguration;
+
+import java.util.List;
+
+/**
+ * Hibernate's H2 emulation of {@code array_intersects} leaves a bound array parameter untyped, which H2 cannot
+ * prepare. The tests run on H2, so this dialect replaces it with one that casts its arguments the way the H2
+ * {@code array_includes} emulation already does. PostgreSQL renders the native {@code &&} operator.
+ */
+public class TypedArrayH2Dialect extends H2Dialect {
+
+    @Override
+    public void initializeFunctionRegistry(FunctionContributions functionContributions) {
+        super.initializeFunctionRegistry(functionContributions);
+        TypeConfiguration typeConfiguration = functionContributions.getTypeConfiguration();
+        functionContributions.getFunctionRegistry()
+                .register("array_intersects", new TypedArrayIntersectsFunction(false, typeConfiguration));
+        functionContributions.getFunctionRegistry()
+                .register("array_intersects_nullable", new TypedArrayIntersectsFunction(true, typeConfiguration));
+    }
+
+    private static final class TypedArrayIntersectsFunction extends AbstractArrayIntersectsFunction {
+
+        private TypedArrayIntersectsFunction(boolean nullable, TypeConfiguration typeConfiguration) {
+            super(nullable, typeConfiguration);
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender,
+                           List<? extends SqlAstNode> arguments,
+                           ReturnableType<?> returnType,
+                           SqlAstTranslator<?> walker) {
+            sqlAppender.append("exists(select 1 from unnest(");
+            walker.render(arguments.get(1), SqlAstNodeRenderingMode.NO_PLAIN_PARAMETER);
+            sqlAppender.append(") t(e) where ");
+            if (!nullable) {
+                sqlAppender.append("t.e is not null and ");
+            }
+            sqlAppender.append("array_contains(");
+            walker.render(arguments.get(0), SqlAstNodeRenderingMode.NO_PLAIN_PARAMETER);
+            sqlAppender.append(",t.e))");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.cache.RecipeCountCache;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@AutoConfigureJson
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RecipeService.class, RecipeBitmapIndex.class, RecipeFullTextIndex.class,
+        RecipeCountCache.class, RecipeCountEstimator.class})
+class RecipeBulkInsertTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void should_BatchInserts_When_CreatingMultipleRecipes() {
+        List<RecipeResponseDTO> result = recipeService.createMoreThanOneRecipe(generateRecipes(200));
+        entityManager.flush();
+
+        assertThat(result).hasSize(200);
+        assertThat(result).extracting(RecipeResponseDTO::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+        // 200 recipe rows and 600 ingredient rows in batches of 50, plus a handful of sequence calls.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(25);
+    }
+
+    private List<RecipeCreateDTO> generateRecipes(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> RecipeCreateDTO.builder()
+                        .title("Recipe " + i)
+                        .description("Description " + i)
+                        .ingredients(List.of("Ingredient " + i % 97, "Ingredient " + i % 31, "Salt"))
+                        .instructions("Mix everything and cook for " + i % 60 + " minutes.")
+                        .vegetarian(i % 3 == 0)
+                        .servings(i % 6 + 1)
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
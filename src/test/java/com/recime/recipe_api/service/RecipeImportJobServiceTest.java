@@ -0,0 +1,106 @@
+package com.recime.recipe_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.ImportJobDTO;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.exception.ImportJobNotFoundException;
+import com.recime.recipe_api.exception.ImportQueueFullException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeImportJobServiceTest {
+
+    @Mock
+    private RecipeService recipeService;
+
+    private RecipeImportJobService recipeImportJobService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        recipeImportJobService.shutdown();
+    }
+
+    @Test
+    void should_ReportProgressAndRecordErrors_When_JobCompletes() {
+        create(2, 1);
+        List<RecipeCreateDTO> records = new ArrayList<>(Arrays.asList(
+                recipe("One"), recipe(""), recipe("Three"), null, recipe("Five")));
+
+        ImportJobDTO submitted = recipeImportJobService.submit(records);
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                recipeImportJobService.getJob(submitted.getId()).getStatus() == ImportJobDTO.Status.COMPLETED);
+        ImportJobDTO job = recipeImportJobService.getJob(submitted.getId());
+
+        assertThat(submitted.getTotalRecords()).isEqualTo(5);
+        assertThat(job.getProcessedRecords()).isEqualTo(5);
+        assertThat(job.getAcceptedRecords()).isEqualTo(3);
+        assertThat(job.getRejectedRecords()).isEqualTo(2);
+        assertThat(job.getRecordsPerSecond()).isPositive();
+        assertThat(job.getFinishedAt()).isAfterOrEqualTo(job.getStartedAt());
+        assertThat(job.getChunks()).hasSize(3);
+        assertThat(job.getChunks()).flatExtracting(chunk -> chunk.getRecordErrors())
+                .extracting("line").containsExactly(2L, 4L);
+        verify(recipeService, times(3)).createMoreThanOneRecipe(anyList());
+    }
+
+    @Test
+    void should_RejectJob_When_QueueIsFull() throws InterruptedException {
+        create(10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(recipeService.createMoreThanOneRecipe(anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ImportJobDTO running = recipeImportJobService.submit(List.of(recipe("Running")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        ImportJobDTO queued = recipeImportJobService.submit(List.of(recipe("Queued")));
+
+        assertThatThrownBy(() -> recipeImportJobService.submit(List.of(recipe("Rejected"))))
+                .isInstanceOf(ImportQueueFullException.class);
+        assertThat(recipeImportJobService.getJob(running.getId()).getStatus()).isEqualTo(ImportJobDTO.Status.RUNNING);
+        assertThat(recipeImportJobService.getJob(queued.getId()).getStatus()).isEqualTo(ImportJobDTO.Status.QUEUED);
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() ->
+                recipeImportJobService.getJob(queued.getId()).getStatus() == ImportJobDTO.Status.COMPLETED);
+    }
+
+    @Test
+    void should_ThrowNotFound_When_JobIsUnknown() {
+        create(10, 1);
+
+        assertThatThrownBy(() -> recipeImportJobService.getJob(UUID.randomUUID()))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    private void create(int chunkSize, int queueCapacity) {
+        MockitoAnnotations.openMocks(this);
+        RecipeImportService recipeImportService = new RecipeImportService(recipeService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), chunkSize);
+        recipeImportJobService = new RecipeImportJobService(recipeImportService, chunkSize, 1, queueCapacity,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    private RecipeCreateDTO recipe(String title) {
+        return new RecipeCreateDTO(title, "Italian", List.of("pasta"), "Boil", true, 2);
+    }
+}
@@ -0,0 +1,136 @@
+package com.recime.recipe_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recime.recipe_api.dto.ImportChunkSummaryDTO;
+import com.recime.recipe_api.dto.RecipeCreateDTO;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecipeImportServiceTest {
+
+    private static final String VALID_RECIPE =
+            "{\"title\":\"Pasta\",\"description\":\"Italian\",\"ingredients\":[\"pasta\"],\"instructions\":\"Boil\",\"vegetarian\":true,\"servings\":2}";
+
+    @Mock
+    private RecipeService recipeService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecipeImportService recipeImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recipeImportService = new RecipeImportService(recipeService,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, 2);
+    }
+
+    @Test
+    void should_CommitInChunks_When_AllRecordsValid() {
+        List<ImportChunkSummaryDTO> result = importNdjson(
+                ndjson(VALID_RECIPE, VALID_RECIPE, VALID_RECIPE, VALID_RECIPE, VALID_RECIPE));
+
+        assertThat(result).hasSize(3);
+        assertThat(result).extracting(ImportChunkSummaryDTO::getAccepted).containsExactly(2, 2, 1);
+        assertThat(result).allMatch(ImportChunkSummaryDTO::isCommitted);
+        assertThat(result.get(2).getFirstLine()).isEqualTo(5);
+        verify(recipeService, times(3)).createMoreThanOneRecipe(anyList());
+    }
+
+    @Test
+    void should_RejectOnlyInvalidRecords_When_ChunkContainsBadLines() {
+        String missingTitle = VALID_RECIPE.replace("\"title\":\"Pasta\",", "");
+
+        List<ImportChunkSummaryDTO> result = importNdjson(
+                ndjson(VALID_RECIPE, "{not json", missingTitle, VALID_RECIPE));
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getAccepted()).isEqualTo(1);
+        assertThat(result.get(0).getRecordErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getLine()).isEqualTo(2));
+        assertThat(result.get(1).getAccepted()).isEqualTo(1);
+        assertThat(result.get(1).getRecordErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).contains("title"));
+
+        ArgumentCaptor<List<RecipeCreateDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(recipeService, times(2)).createMoreThanOneRecipe(captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSize(1));
+    }
+
+    @Test
+    void should_SkipBlankLines_When_Reading() {
+        List<ImportChunkSummaryDTO> result = importNdjson(ndjson("", VALID_RECIPE, "   ", ""));
+
+        assertThat(result).singleElement().satisfies(summary -> {
+            assertThat(summary.getAccepted()).isEqualTo(1);
+            assertThat(summary.getRecordErrors()).isEmpty();
+        });
+    }
+
+    @Test
+    void should_ReportFailedChunk_And_Continue_When_SaveFails() {
+        when(recipeService.createMoreThanOneRecipe(anyList()))
+                .thenThrow(new RuntimeException("Database error"))
+                .thenReturn(List.of());
+
+        List<ImportChunkSummaryDTO> result = importNdjson(
+                ndjson(VALID_RECIPE, VALID_RECIPE, VALID_RECIPE));
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).isCommitted()).isFalse();
+        assertThat(result.get(0).getRejected()).isEqualTo(2);
+        assertThat(result.get(0).getError()).contains("Database error");
+        assertThat(result.get(1).isCommitted()).isTrue();
+    }
+
+    @Test
+    void should_WriteChunkSummary_When_ChunkCommits() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> linesBeforeEachChunk = new ArrayList<>();
+        when(recipeService.createMoreThanOneRecipe(anyList())).thenAnswer(invocation -> {
+            linesBeforeEachChunk.add(out.toString(StandardCharsets.UTF_8).lines().count());
+            return List.of();
+        });
+
+        long records = recipeImportService.importNdjson(ndjson(VALID_RECIPE, VALID_RECIPE, VALID_RECIPE), out);
+
+        assertThat(records).isEqualTo(3);
+        assertThat(linesBeforeEachChunk).containsExactly(0L, 1L);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n").hasLineCount(2);
+    }
+
+    private List<ImportChunkSummaryDTO> importNdjson(InputStream body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recipeImportService.importNdjson(body, out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, ImportChunkSummaryDTO.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
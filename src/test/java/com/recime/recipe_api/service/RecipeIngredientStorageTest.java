@@ -0,0 +1,164 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.cache.RecipeCountCache;
+import com.recime.recipe_api.dto.RecipePatchDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
+import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@AutoConfigureJson
+@DataJpaTest(properties = {
+        "recipe.ingredients.storage=array",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({RecipeService.class, RecipeExportService.class, RecipeBitmapIndex.class, RecipeFullTextIndex.class,
+        RecipeCountCache.class, RecipeCountEstimator.class})
+class RecipeIngredientStorageTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 30; i++) {
+            entityManager.persist(Recipe.builder()
+                    .title("Recipe " + i)
+                    .description("Description " + i)
+                    .ingredients(i % 3 == 0 ? List.of("Garlic", "Tomato", "Salt") : List.of("Garlic", "Salt"))
+                    .instructions("Instructions " + i)
+                    .vegetarian(i % 2 == 0)
+                    .servings(i % 4 + 1)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void should_FilterOnArrayColumn_When_StorageIsArray() {
+        Page<RecipeResponseDTO> included = recipeService.getRecipesByFilters(
+                null, null, List.of("Tomato", "Garlic"), null, null, PageRequest.of(0, 5, Sort.by("id")));
+        Page<RecipeResponseDTO> excluded = recipeService.getRecipesByFilters(
+                null, null, List.of("Garlic"), List.of("Tomato", "Saffron"), null, PageRequest.of(0, 50, Sort.by("id")));
+
+        assertThat(included.getTotalElements()).isEqualTo(10);
+        assertThat(included.getContent()).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).containsExactly("Garlic", "Tomato", "Salt"));
+        assertThat(excluded.getTotalElements()).isEqualTo(20);
+        assertThat(excluded.getContent()).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).doesNotContain("Tomato"));
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_ReadIngredientsFromRow_When_LoadingById() {
+        Long id = recipeService.getRecipesByFilters(
+                null, null, List.of("Tomato"), null, null, PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(recipeService.getRecipeById(id).getIngredients()).containsExactly("Garlic", "Tomato", "Salt");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_SelectIngredientColumn_When_IngredientsFieldRequested() {
+        RecipeSearchResult result = recipeService.getRecipeFieldsByFilters(
+                null, null, List.of("Tomato"), null, null, RecipeField.parse(List.of("ingredients")),
+                PageRequest.of(0, 20, Sort.by("id")), CountStrategy.NONE);
+
+        assertThat(result.getRecipes().getContent()).hasSize(10);
+        assertThat(result.getRecipes().getContent()).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).containsExactly("Garlic", "Tomato", "Salt"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_ExportFromSingleCursor_When_StorageIsArray() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        long written = recipeExportService.exportRecipes(
+                null, null, List.of("Tomato"), null, null, ExportFormat.CSV, body);
+
+        String[] lines = body.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(written).isEqualTo(10);
+        assertThat(lines).hasSize(11);
+        assertThat(lines[1]).contains(",Garlic;Tomato;Salt,");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_KeepBothLayoutsInSync_When_IngredientsPatched() {
+        Long id = recipeService.getRecipesByFilters(
+                null, null, List.of("Tomato"), null, null, PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+
+        recipeService.patchRecipe(id, RecipePatchDTO.builder().ingredients(List.of("Garlic", "Basil")).build(), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        Recipe stored = entityManager.find(Recipe.class, id);
+        assertThat(stored.getIngredientTags()).containsExactly("Garlic", "Basil");
+        assertThat(stored.getIngredients()).containsExactlyInAnyOrder("Garlic", "Basil");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThat(recipeService.getRecipesByFilters(
+                null, null, List.of("Basil"), null, null, PageRequest.of(0, 5)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void should_KeepTableRowsEqualToTags_When_PatchedRepeatedly() {
+        Long id = recipeService.getRecipesByFilters(
+                null, null, List.of("Tomato"), null, null, PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+
+        recipeService.patchRecipe(id, RecipePatchDTO.builder().ingredients(List.of("Garlic", "Tomato", "Salt", "Basil")).build(), null);
+        recipeService.patchRecipe(id, RecipePatchDTO.builder().title("Renamed").build(), null);
+        recipeService.patchRecipe(id, RecipePatchDTO.builder().ingredients(List.of("Basil", "Garlic")).build(), null);
+        recipeService.patchRecipe(id, RecipePatchDTO.builder().ingredients(List.of("Garlic", "Basil")).build(), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> tableRows = entityManager.getEntityManager()
+                .createNativeQuery("select ingredient from recipe_ingredients where recipe_id = ?1", String.class)
+                .setParameter(1, id)
+                .getResultList();
+        Recipe stored = entityManager.find(Recipe.class, id);
+        assertThat(stored.getIngredientTags()).containsExactly("Garlic", "Basil");
+        assertThat(tableRows).containsExactlyInAnyOrderElementsOf(stored.getIngredientTags());
+        assertThat(stored.getTitle()).isEqualTo("Renamed");
+    }
+}
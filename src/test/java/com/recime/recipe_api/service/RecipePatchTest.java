@@ -0,0 +1,128 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.cache.RecipeCountCache;
+import com.recime.recipe_api.dto.RecipePatchDTO;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
+import com.recime.recipe_api.metrics.RequestStatementCounter;
+import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
+import com.recime.recipe_api.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@AutoConfigureJson
+@DataJpaTest
+@Import({RecipeService.class, RecipeBitmapIndex.class, RecipeFullTextIndex.class,
+        RecipeCountCache.class, RecipeCountEstimator.class, RequestStatementCounter.class})
+class RecipePatchTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RequestStatementCounter statementCounter;
+
+    private Long id;
+    private List<String> ingredients;
+
+    @BeforeEach
+    void setUp() {
+        ingredients = IntStream.rangeClosed(1, 40).mapToObj(i -> "Ingredient " + i).toList();
+        id = entityManager.persistAndGetId(Recipe.builder()
+                .title("Stew")
+                .description("Slow cooked")
+                .ingredients(new ArrayList<>(ingredients))
+                .instructions("Simmer")
+                .vegetarian(true)
+                .servings(4)
+                .build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void should_WriteOnlyChangedRows_When_IngredientsReplaced() {
+        List<String> requested = new ArrayList<>(ingredients);
+        requested.set(9, "Thyme");
+        requested.set(19, "Bay leaf");
+        requested.set(29, "Sage");
+
+        Map<String, Integer> statements = patch(RecipePatchDTO.builder().ingredients(requested).build());
+
+        assertThat(statements.keySet())
+                .filteredOn(sql -> sql.startsWith("delete") || sql.startsWith("insert") || sql.startsWith("update"))
+                .containsExactly(
+                        "delete from recipe_ingredients where recipe_id = ? and ingredient in (?, ...)",
+                        "insert into recipe_ingredients (recipe_id, ingredient) select ?, t.ingredient from unnest(?) as t(ingredient)",
+                        "update recipes set ingredient_tags=?,version=? where id=? and version=?");
+        assertThat(statements.values()).allMatch(count -> count == 1);
+
+        entityManager.clear();
+        Recipe stored = recipeRepository.findById(id).orElseThrow();
+        assertThat(stored.getIngredients()).hasSize(40).contains("Thyme", "Bay leaf", "Sage").doesNotContain("Ingredient 10", "Ingredient 20");
+        assertThat(stored.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void should_RaiseVersionOnce_When_ColumnsAndIngredientsPatched() {
+        List<String> requested = new ArrayList<>(ingredients);
+        requested.set(0, "Thyme");
+
+        Map<String, Integer> statements = patch(RecipePatchDTO.builder().servings(6).ingredients(requested).build());
+
+        assertThat(statements).containsEntry("update recipes set ingredient_tags=?,servings=?,version=? where id=? and version=?", 1);
+        assertThat(statements.keySet()).filteredOn(sql -> sql.startsWith("update")).hasSize(1);
+        entityManager.clear();
+        assertThat(recipeRepository.findById(id).orElseThrow().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void should_UpdateOnlyChangedColumns_When_TitlePatched() {
+        Map<String, Integer> statements = patch(RecipePatchDTO.builder().title("Winter stew").servings(4).build());
+
+        assertThat(statements.keySet())
+                .filteredOn(sql -> sql.startsWith("update"))
+                .containsExactly("update recipes set title=?,version=? where id=? and version=?");
+        assertThat(statements.keySet()).noneMatch(sql -> sql.contains("recipe_ingredients") && !sql.startsWith("select"));
+    }
+
+    @Test
+    void should_SkipWrites_When_PatchMatchesStoredRecipe() {
+        Map<String, Integer> statements = patch(RecipePatchDTO.builder()
+                .title("Stew")
+                .ingredients(IntStream.rangeClosed(1, 40).mapToObj(i -> "Ingredient " + (41 - i)).toList())
+                .build());
+
+        assertThat(statements.keySet()).allMatch(sql -> sql.startsWith("select"));
+    }
+
+    private Map<String, Integer> patch(RecipePatchDTO dto) {
+        statementCounter.startRecordingShapes();
+        RecipeResponseDTO response = recipeService.patchRecipe(id, dto, 0L);
+        entityManager.flush();
+        Map<String, Integer> statements = statementCounter.stopRecordingShapes();
+
+        assertThat(response.getIngredients()).hasSize(40);
+        return statements;
+    }
+}
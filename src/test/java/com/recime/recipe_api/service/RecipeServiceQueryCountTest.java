@@ -0,0 +1,279 @@
+package com.recime.recipe_api.service;
+
+import com.recime.recipe_api.cache.RecipeCountCache;
+import com.recime.recipe_api.dto.RecipeResponseDTO;
+import com.recime.recipe_api.dto.RecipeScrollResponseDTO;
+import com.recime.recipe_api.exception.InvalidCursorException;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
+import com.recime.recipe_api.model.Recipe;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@AutoConfigureJson
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RecipeService.class, RecipeBitmapIndex.class, RecipeFullTextIndex.class,
+        RecipeCountCache.class, RecipeCountEstimator.class})
+class RecipeServiceQueryCountTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 50; i++) {
+            entityManager.persist(Recipe.builder()
+                    .title("Recipe " + i)
+                    .description("Description " + i)
+                    .ingredients(List.of("Ingredient A" + i, "Ingredient B" + i, "Salt"))
+                    .instructions("Instructions " + i)
+                    .vegetarian(i % 2 == 0)
+                    .servings(i % 4 + 1)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void should_UseFixedNumberOfStatements_When_PageSizeGrows() {
+        Page<RecipeResponseDTO> smallPage = recipeService.getRecipesByFilters(
+                null, null, null, null, null, PageRequest.of(0, 5, Sort.by("id")));
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+
+        Page<RecipeResponseDTO> largePage = recipeService.getRecipesByFilters(
+                null, null, null, null, null, PageRequest.of(0, 40, Sort.by("id")));
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.getContent()).hasSize(5);
+        assertThat(largePage.getContent()).hasSize(40);
+        assertThat(largePage.getContent()).allSatisfy(recipe -> assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(smallPageStatements).isEqualTo(3);
+        assertThat(largePageStatements).isEqualTo(3);
+    }
+
+    @Test
+    void should_KeepPageOrder_When_IngredientsAreFetched() {
+        Page<RecipeResponseDTO> page = recipeService.getRecipesByFilters(
+                null, null, List.of("Salt"), null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).extracting(RecipeResponseDTO::getId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(page.getContent()).allSatisfy(recipe -> assertThat(recipe.getIngredients()).contains("Salt"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_WalkWholeCatalogueWithoutCount_When_ScrollingWithCursor() {
+        List<RecipeResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int windows = 0;
+        do {
+            RecipeScrollResponseDTO window = recipeService.scrollRecipesByFilters(
+                    null, null, List.of("Salt"), null, null, cursor, 20, Sort.by(Sort.Direction.DESC, "title"));
+            seen.addAll(window.getContent());
+            cursor = window.getNextCursor();
+            windows++;
+            entityManager.clear();
+        } while (cursor != null);
+
+        assertThat(windows).isEqualTo(3);
+        assertThat(seen).hasSize(50);
+        assertThat(seen).extracting(RecipeResponseDTO::getId).doesNotHaveDuplicates();
+        assertThat(seen).extracting(RecipeResponseDTO::getTitle).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(seen).allSatisfy(recipe -> assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(windows * 2L);
+    }
+
+    @Test
+    void should_ReturnOnlyMatchingRecipes_When_ScrollingWithFilters() {
+        RecipeScrollResponseDTO first = recipeService.scrollRecipesByFilters(
+                true, null, null, null, null, null, 10, Sort.unsorted());
+        RecipeScrollResponseDTO second = recipeService.scrollRecipesByFilters(
+                true, null, null, null, null, first.getNextCursor(), 10, Sort.unsorted());
+        RecipeScrollResponseDTO last = recipeService.scrollRecipesByFilters(
+                true, null, null, null, null, second.getNextCursor(), 10, Sort.unsorted());
+
+        assertThat(first.getContent()).extracting(RecipeResponseDTO::getId).isSorted();
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(first.getContent().get(9).getId());
+        assertThat(last.getContent()).hasSize(5);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(List.of(first, second, last)).flatExtracting(RecipeScrollResponseDTO::getContent)
+                .allMatch(RecipeResponseDTO::isVegetarian);
+    }
+
+    @Test
+    void should_RejectCursor_When_TokenIsTamperedOrSortUnsupported() {
+        assertThatThrownBy(() -> recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, "not-a-cursor", 10, Sort.unsorted()))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, null, 10, Sort.by("description")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void should_RejectCursor_When_SortDiffersFromTheOneItWasIssuedFor() {
+        String cursor = recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, null, 10, Sort.by(Sort.Direction.DESC, "title")).getNextCursor();
+
+        assertThatThrownBy(() -> recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, cursor, 10, Sort.by("id")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, cursor, 10, Sort.by("title")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void should_RejectCursor_When_TokenDropsIdTiebreaker() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sort\":[\"title:ASC\"],\"keys\":{\"title\":\"Recipe 10\"}}".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> recipeService.scrollRecipesByFilters(
+                null, null, null, null, null, cursor, 10, Sort.by("title")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void should_SkipCountQuery_When_CountStrategyIsNone() {
+        RecipeSearchResult result = recipeService.getRecipesByFilters(
+                true, null, null, null, null, PageRequest.of(0, 10, Sort.by("id")), CountStrategy.NONE);
+
+        Slice<RecipeResponseDTO> recipes = result.getRecipes();
+        assertThat(result.getCountStrategy()).isEqualTo(CountStrategy.NONE);
+        assertThat(recipes).isNotInstanceOf(Page.class);
+        assertThat(recipes.getContent()).hasSize(10);
+        assertThat(recipes.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_SelectOnlyRequestedColumns_When_FieldsGiven() {
+        RecipeSearchResult result = recipeService.getRecipeFieldsByFilters(
+                true, null, null, null, null, RecipeField.parse(List.of("title", "servings")),
+                PageRequest.of(0, 10, Sort.by("id")), CountStrategy.NONE);
+
+        Slice<RecipeResponseDTO> recipes = result.getRecipes();
+        assertThat(recipes.getContent()).hasSize(10);
+        assertThat(recipes.hasNext()).isTrue();
+        assertThat(recipes.getContent()).allSatisfy(recipe -> {
+            assertThat(recipe.getTitle()).startsWith("Recipe ");
+            assertThat(recipe.getVersion()).isNotNull();
+            assertThat(recipe.getDescription()).isNull();
+            assertThat(recipe.getInstructions()).isNull();
+            assertThat(recipe.getIngredients()).isNull();
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_LoadIngredientsInOneQuery_When_IngredientsFieldRequested() {
+        RecipeSearchResult result = recipeService.getRecipeFieldsByFilters(
+                null, null, List.of("Salt"), null, "instructions", RecipeField.parse(List.of("ingredients")),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")), CountStrategy.EXACT);
+
+        Page<RecipeResponseDTO> recipes = (Page<RecipeResponseDTO>) result.getRecipes();
+        assertThat(recipes.getTotalElements()).isEqualTo(50);
+        assertThat(recipes.getContent()).extracting(RecipeResponseDTO::getId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(recipes.getContent()).allSatisfy(recipe -> {
+            assertThat(recipe.getIngredients()).hasSize(3).contains("Salt");
+            assertThat(recipe.getTitle()).isNull();
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_ReuseCachedCount_When_SameFiltersRequestedAgain() {
+        RecipeSearchResult first = recipeService.getRecipesByFilters(
+                null, null, List.of("Salt"), null, "instructions", PageRequest.of(0, 10, Sort.by("id")), CountStrategy.CACHED);
+        long firstStatements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+
+        RecipeSearchResult second = recipeService.getRecipesByFilters(
+                null, null, List.of("Salt", "Salt"), null, "INSTRUCTIONS", PageRequest.of(1, 10, Sort.by("id")), CountStrategy.CACHED);
+
+        assertThat(first.getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+        assertThat(((Page<RecipeResponseDTO>) first.getRecipes()).getTotalElements()).isEqualTo(50);
+        assertThat(((Page<RecipeResponseDTO>) second.getRecipes()).getTotalElements()).isEqualTo(50);
+        assertThat(firstStatements).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_FallBackToCachedCount_When_EstimateUnavailable() {
+        RecipeSearchResult result = recipeService.getRecipesByFilters(
+                false, null, null, null, null, PageRequest.of(0, 10, Sort.by("id")), CountStrategy.ESTIMATED);
+
+        assertThat(result.getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+        assertThat(((Page<RecipeResponseDTO>) result.getRecipes()).getTotalElements()).isEqualTo(25);
+    }
+
+    @Test
+    void should_LoadInChunks_And_KeepRequestOrder_When_FetchingManyIds() {
+        List<Long> existingIds = new ArrayList<>(entityManager.getEntityManager()
+                .createQuery("select r.id from Recipe r order by r.id desc", Long.class)
+                .getResultList());
+        List<Long> requestedIds = new ArrayList<>(existingIds);
+        long missingId = existingIds.get(0) + 1;
+        while (requestedIds.size() < RecipeService.ID_CHUNK_SIZE * 2 + 200) {
+            requestedIds.add(missingId++);
+        }
+        requestedIds.add(existingIds.get(0));
+        statistics.clear();
+
+        List<RecipeResponseDTO> recipes = recipeService.getRecipesByIds(requestedIds);
+
+        assertThat(recipes).extracting(RecipeResponseDTO::getId).containsExactlyElementsOf(existingIds);
+        assertThat(recipes).allSatisfy(recipe -> assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_SelectOnlyIds_When_FindingIdsByFilters() {
+        List<Long> ids = recipeService.findIdsByFilters(true, null, List.of("Salt"), null, null, 0, 10);
+
+        assertThat(ids).hasSize(10).isSorted();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
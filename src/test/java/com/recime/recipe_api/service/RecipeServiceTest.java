@@ -1,14 +1,22 @@
 package com.recime.recipe_api.service;
 
+import com.recime.recipe_api.cache.RecipeCountCache;
 import com.recime.recipe_api.dto.RecipeCreateDTO;
+import com.recime.recipe_api.dto.RecipePatchDTO;
 import com.recime.recipe_api.dto.RecipeResponseDTO;
 import com.recime.recipe_api.dto.RecipeUpdateDTO;
+import com.recime.recipe_api.event.RecipeChangedEvent;
 import com.recime.recipe_api.exception.RecipeNotFoundException;
+import com.recime.recipe_api.exception.RecipeVersionMismatchException;
+import com.recime.recipe_api.index.RecipeBitmapIndex;
+import com.recime.recipe_api.index.RecipeFullTextIndex;
 import com.recime.recipe_api.model.Recipe;
+import com.recime.recipe_api.repository.RecipeCountEstimator;
 import com.recime.recipe_api.repository.RecipeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,6 +27,7 @@ import org.springframework.data.jpa.domain.Specification;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +38,21 @@ class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Mock
+    private RecipeBitmapIndex recipeBitmapIndex;
+
+    @Mock
+    private RecipeFullTextIndex recipeFullTextIndex;
+
+    @Mock
+    private RecipeCountCache recipeCountCache;
+
+    @Mock
+    private RecipeCountEstimator recipeCountEstimator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -265,6 +289,71 @@ class RecipeServiceTest {
         verify(recipeRepository).save(any(Recipe.class));
     }
 
+    @Test
+    void should_ThrowException_When_ExpectedVersionDiffers() {
+        Recipe existingRecipe = Recipe.builder().id(1L).title("Old").version(2L).build();
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(existingRecipe));
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(1L, RecipeUpdateDTO.builder().title("New").build(), 1L))
+                .isInstanceOf(RecipeVersionMismatchException.class);
+
+        verify(recipeRepository, never()).save(any(Recipe.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void should_PublishPreviousIngredients_When_RecipeUpdatedOrDeleted() {
+        Recipe existingRecipe = Recipe.builder().id(1L).title("Old").ingredients(List.of("Tomato", "Basil")).build();
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(existingRecipe));
+        when(recipeRepository.save(any(Recipe.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(recipeRepository.existsById(1L)).thenReturn(true);
+        when(recipeRepository.findIngredientsById(1L)).thenReturn(List.of("Rice"));
+
+        recipeService.updateRecipe(1L, RecipeUpdateDTO.builder().title("New").ingredients(List.of("Rice")).build());
+        recipeService.deleteRecipe(1L);
+
+        ArgumentCaptor<RecipeChangedEvent> captor = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues()).extracting(RecipeChangedEvent::getType)
+                .containsExactly(RecipeChangedEvent.Type.UPDATED, RecipeChangedEvent.Type.DELETED);
+        assertThat(captor.getAllValues()).extracting(RecipeChangedEvent::getPreviousIngredients)
+                .containsExactly(List.of("Tomato", "Basil"), List.of("Rice"));
+    }
+
+    @Test
+    void should_WriteIngredientDiff_When_PatchChangesIngredients() {
+        Recipe existingRecipe = Recipe.builder().id(1L).title("Old").version(3L).build();
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(existingRecipe));
+        when(recipeRepository.findIngredientsById(1L)).thenReturn(List.of("Tomato", "Basil", "Salt"));
+
+        RecipeResponseDTO result = recipeService.patchRecipe(1L,
+                RecipePatchDTO.builder().title("Old").ingredients(List.of("Salt", "Rice", "Tomato")).build(), 3L);
+
+        verify(recipeRepository).deleteIngredients(1L, List.of("Basil"));
+        verify(recipeRepository).insertIngredients(1L, new String[]{"Rice"});
+        verify(recipeRepository, never()).save(any(Recipe.class));
+        verify(recipeRepository).flush();
+        assertThat(result.getIngredients()).containsExactly("Tomato", "Salt", "Rice");
+        assertThat(existingRecipe.getIngredientTags()).containsExactly("Tomato", "Salt", "Rice");
+        verify(eventPublisher).publishEvent(any(RecipeChangedEvent.class));
+    }
+
+    @Test
+    void should_SkipWrites_When_PatchChangesNothing() {
+        Recipe existingRecipe = Recipe.builder().id(1L).title("Old").servings(2).version(0L).build();
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(existingRecipe));
+        when(recipeRepository.findIngredientsById(1L)).thenReturn(List.of("Tomato"));
+
+        RecipeResponseDTO result = recipeService.patchRecipe(1L,
+                RecipePatchDTO.builder().servings(2).ingredients(List.of("Tomato")).build(), null);
+
+        assertThat(result.getVersion()).isZero();
+        verify(recipeRepository, never()).deleteIngredients(any(), any());
+        verify(recipeRepository, never()).insertIngredients(any(), any());
+        verify(recipeRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void should_DeleteRecipe_When_IdExists() {
         when(recipeRepository.existsById(1L)).thenReturn(true);
@@ -274,6 +363,21 @@ class RecipeServiceTest {
         verify(recipeRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void should_DeleteExistingRecipesOnly_When_BulkDeleting() {
+        when(recipeRepository.findIngredientPairsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[]{1L, "Tomato"}, new Object[]{1L, "Basil"}, new Object[]{3L, null}));
+
+        List<Long> deleted = recipeService.deleteRecipes(List.of(1L, 2L, 3L));
+
+        assertThat(deleted).containsExactly(1L, 3L);
+        verify(recipeRepository).deleteAllByIdIn(Set.of(1L, 3L));
+        ArgumentCaptor<RecipeChangedEvent> captor = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues()).extracting(RecipeChangedEvent::getPreviousIngredients)
+                .containsExactly(List.of("Tomato", "Basil"), List.of());
+    }
+
     @Test
     void should_ThrowException_When_DeletingNonExistentRecipe() {
         when(recipeRepository.existsById(1L)).thenReturn(false);
@@ -440,4 +544,34 @@ class RecipeServiceTest {
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("Veggie Dish");
     }
 
+    @Test
+    void should_LoadIndexedPage_When_BitmapIndexAnswersFilters() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(recipeBitmapIndex.findIds(true, null, List.of("Tomato"), null, pageable))
+                .thenReturn(Optional.of(new PageImpl<>(List.of(7L, 3L), pageable, 5)));
+        when(recipeRepository.findAllWithIngredientsByIdIn(List.of(7L, 3L))).thenReturn(List.of(
+                Recipe.builder().id(3L).title("Recipe 3").build(),
+                Recipe.builder().id(7L).title("Recipe 7").build()));
+
+        Page<RecipeResponseDTO> result = recipeService.getRecipesByFilters(true, null, List.of("Tomato"), null, null, pageable);
+
+        assertThat(result.getContent()).extracting(RecipeResponseDTO::getId).containsExactly(7L, 3L);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        verify(recipeRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void should_ReturnRankedRecipes_When_SearchingFullText() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(recipeFullTextIndex.search("tomato soup", null, null, null, null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(recipeRepository.findAllWithIngredientsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+                Recipe.builder().id(1L).title("Tomato salad").build(),
+                Recipe.builder().id(2L).title("Tomato soup").build()));
+
+        Page<RecipeResponseDTO> result = recipeService.searchRecipes("tomato soup", null, null, null, null, null, pageable);
+
+        assertThat(result.getContent()).extracting(RecipeResponseDTO::getTitle).containsExactly("Tomato soup", "Tomato salad");
+    }
+
 }
@@ -0,0 +1,74 @@
+package com.recime.recipe_api.specification;
+
+import com.recime.recipe_api.model.Recipe;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Renders the PostgreSQL statements without a database: the session factory has no connection, so running a query
+// fails right after the SQL is captured. Whether PostgreSQL plans them with the indexes is checked by the
+// Testcontainers tests.
+class RecipeSpecificationsTest {
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Recipe.class)
+                .setProperty("hibernate.dialect", PostgreSQLDialect.class.getName())
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setStatementInspector(sql -> {
+                    statements.add(sql);
+                    return sql;
+                })
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void should_RenderSingleOverlapWithOneParameter_When_ExcludingIngredientTags() {
+        String sql = render(RecipeSpecifications.hasIngredientTagsExclude(List.of("Tomato", "Saffron", "Beef Mince")));
+
+        assertThat(sql).contains("where not(r1_0.ingredient_tags&&?)");
+        assertThat(sql).doesNotContain("recipe_ingredients");
+    }
+
+    @Test
+    void should_RenderSingleContainmentWithOneParameter_When_IncludingIngredientTags() {
+        String sql = render(RecipeSpecifications.hasIngredientTagsInclude(List.of("Tomato", "Saffron")));
+
+        assertThat(sql).contains("where r1_0.ingredient_tags@>?");
+    }
+
+    private String render(Specification<Recipe> spec) {
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<Recipe> query = criteriaBuilder.createQuery(Recipe.class);
+            Root<Recipe> root = query.from(Recipe.class);
+            query.where(spec.toPredicate(root, query, criteriaBuilder));
+
+            assertThatThrownBy(() -> session.createQuery(query).getResultList());
+        }
+        assertThat(statements).hasSize(1);
+        return statements.get(0);
+    }
+}